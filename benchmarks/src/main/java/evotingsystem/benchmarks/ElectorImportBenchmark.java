@@ -0,0 +1,63 @@
+package evotingsystem.benchmarks;
+
+import evotingsystem.voterservice.VoterServiceApplication;
+import evotingsystem.voterservice.dtos.ElectorImportReport;
+import evotingsystem.voterservice.services.ElectorImportService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Import CSV d'une liste électorale (ElectorImportService.importCsv) :
+ * rows nouvelles lignes par opération, soit rows / durée lignes par seconde.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ElectorImportBenchmark {
+
+    @Param({"200000"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+    private ElectorImportService electorImportService;
+    private int iteration;
+    private byte[] csv;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = ServiceContexts.start(VoterServiceApplication.class, "voter-service", Map.of());
+        electorImportService = context.getBean(ElectorImportService.class);
+    }
+
+    // Identifiants nouveaux à chaque itération, fichier généré hors mesure
+    @Setup(Level.Iteration)
+    public void generateFile() {
+        StringBuilder builder = new StringBuilder("nom,prenom,dateNaissance,identifiantSecurise\n");
+        iteration++;
+        for (int i = 0; i < rows; i++) {
+            builder.append("Nom").append(i).append(",Prenom").append(i).append(",1980-01-")
+                    .append(String.format("%02d", i % 28 + 1)).append(",IMP-").append(iteration)
+                    .append('-').append(i).append('\n');
+        }
+        csv = builder.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ElectorImportReport importCsv() throws IOException {
+        return electorImportService.importCsv(new ByteArrayInputStream(csv), ',');
+    }
+}
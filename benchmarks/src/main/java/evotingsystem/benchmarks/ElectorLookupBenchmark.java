@@ -0,0 +1,47 @@
+package evotingsystem.benchmarks;
+
+import evotingsystem.voterservice.VoterServiceApplication;
+import evotingsystem.voterservice.dtos.ElectorDTO;
+import evotingsystem.voterservice.services.ElectorService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lecture d'un électeur (ElectorServiceImpl.getElectorById et
+ * getElectorByIdentifiantSecurise) sur les données de test du service.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ElectorLookupBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private ElectorService electorService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = ServiceContexts.start(VoterServiceApplication.class, "voter-service", Map.of());
+        electorService = context.getBean(ElectorService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ElectorDTO getElectorById() {
+        return electorService.getElectorById(1L);
+    }
+
+    @Benchmark
+    public ElectorDTO getElectorByIdentifiantSecurise() {
+        return electorService.getElectorByIdentifiantSecurise("ID001234");
+    }
+}
@@ -0,0 +1,92 @@
+package evotingsystem.benchmarks;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import evotingsystem.voteservice.VoteServiceApplication;
+import evotingsystem.voteservice.feignclients.Elector;
+import evotingsystem.voteservice.feignclients.ElectorClient;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+
+/**
+ * Latence d'un appel Feign de vote-service vers voter-service (bouchon
+ * WireMock) selon le client HTTP : HttpURLConnection par défaut ou Apache
+ * HttpClient 5 (pool de connexions keep-alive, réponses gzip décompressées).
+ *
+ * getElectorById mesure le coût fixe d'un appel (connexion, en-têtes) ;
+ * getElectorByIdConcurrent le même appel depuis 32 threads, au-delà des 5
+ * connexions inactives conservées par HttpURLConnection (http.maxConnections) ;
+ * getAllElectors une réponse volumineuse, compressée par le bouchon quand le
+ * client envoie Accept-Encoding: gzip.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class FeignClientBenchmark {
+
+    private static final int ELECTOR_LIST_SIZE = 5_000;
+
+    @Param({"default", "hc5"})
+    public String client;
+
+    private WireMockServer voterService;
+    private ConfigurableApplicationContext context;
+    private ElectorClient electorClient;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        voterService = new WireMockServer(options().dynamicPort());
+        voterService.start();
+        voterService.stubFor(get(urlPathMatching("/api/electors/\\d+"))
+                .willReturn(okJson(electorJson(1))));
+        voterService.stubFor(get(urlPathEqualTo("/api/electors"))
+                .willReturn(okJson(IntStream.rangeClosed(1, ELECTOR_LIST_SIZE)
+                        .mapToObj(FeignClientBenchmark::electorJson)
+                        .collect(Collectors.joining(",", "[", "]")))));
+
+        context = ServiceContexts.start(VoteServiceApplication.class, "vote-service",
+                Map.of("voter-service", voterService.baseUrl()),
+                WebApplicationType.NONE,
+                Map.of("spring.cloud.openfeign.httpclient.hc5.enabled", String.valueOf(client.equals("hc5"))));
+        electorClient = context.getBean(ElectorClient.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+        voterService.stop();
+    }
+
+    @Benchmark
+    public Elector getElectorById() {
+        return electorClient.getElectorById(1L);
+    }
+
+    @Benchmark
+    @Threads(32)
+    public Elector getElectorByIdConcurrent() {
+        return electorClient.getElectorById(1L);
+    }
+
+    @Benchmark
+    public List<Elector> getAllElectors() {
+        return electorClient.getAllElectors();
+    }
+
+    private static String electorJson(int id) {
+        return "{\"idElector\":" + id + ",\"nom\":\"Dupont\",\"prenom\":\"Jean\","
+                + "\"dateNaissance\":\"1990-05-15\",\"identifiantSecurise\":\"ID" + id + "\",\"aVote\":false}";
+    }
+}
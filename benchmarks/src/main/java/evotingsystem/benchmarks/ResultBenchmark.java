@@ -0,0 +1,94 @@
+package evotingsystem.benchmarks;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import evotingsystem.resultservice.ResultServiceApplication;
+import evotingsystem.resultservice.dtos.ResultDTO;
+import evotingsystem.resultservice.dtos.StatisticsDTO;
+import evotingsystem.resultservice.feignclients.models.VoteDTO;
+import evotingsystem.resultservice.services.ResultService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+
+/**
+ * Calcul et lecture des résultats (ResultServiceImpl), vote-service étant
+ * remplacé par un bouchon WireMock.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ResultBenchmark {
+
+    @Param({"100"})
+    private int deltaSize;
+
+    private WireMockServer voteService;
+    private ConfigurableApplicationContext context;
+    private ResultService resultService;
+    private long nextVoteId = 1_000L;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        voteService = new WireMockServer(options().dynamicPort());
+        voteService.start();
+        voteService.stubFor(get(urlPathEqualTo("/api/votes/counts/snapshot"))
+                .willReturn(okJson("{\"lastVoteId\":0,\"counts\":[],\"countsPerMinute\":[],\"missingIds\":[]}")));
+        voteService.stubFor(get(urlPathEqualTo("/api/votes/counts/per-minute"))
+                .willReturn(okJson("[]")));
+        voteService.stubFor(get(urlPathEqualTo("/api/votes/stream"))
+                .willReturn(ok("").withHeader("Content-Type", "application/x-ndjson")));
+
+        context = ServiceContexts.start(ResultServiceApplication.class, "result-service",
+                Map.of("vote-service", voteService.baseUrl()));
+        resultService = context.getBean(ResultService.class);
+        resultService.calculateResults();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+        voteService.stop();
+    }
+
+    /**
+     * Rafraîchissement sans nouveau vote : coût fixe d'un calcul incrémental.
+     */
+    @Benchmark
+    public void calculateResults() {
+        resultService.calculateResults();
+    }
+
+    /**
+     * Application d'un delta de deltaSize nouveaux votes aux totaux, écrits
+     * en base avant l'acquittement.
+     */
+    @Benchmark
+    public void applyVotes() {
+        List<VoteDTO> votes = new ArrayList<>(deltaSize);
+        for (int i = 0; i < deltaSize; i++) {
+            votes.add(new VoteDTO(nextVoteId++, LocalDateTime.now(), nextVoteId, (long) (i % 3) + 1));
+        }
+        resultService.applyVotes(votes);
+    }
+
+    @Benchmark
+    public List<ResultDTO> getResults() {
+        return resultService.getResults();
+    }
+
+    @Benchmark
+    public StatisticsDTO getStatistics() {
+        return resultService.getStatistics();
+    }
+}
@@ -0,0 +1,76 @@
+package evotingsystem.benchmarks;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Démarre le contexte Spring d'un service avec une base H2 en mémoire à la
+ * place de MySQL, sans Eureka et, pour les benchmarks JMH, sans serveur HTTP.
+ * Les services appelés via Feign sont résolus par le SimpleDiscoveryClient vers
+ * des bouchons locaux.
+ */
+public final class ServiceContexts {
+
+    private ServiceContexts() {
+    }
+
+    /**
+     * @param application     la classe @SpringBootApplication du service
+     * @param name            le nom du service (base H2 et spring.application.name)
+     * @param downstreamUris  nom de service Feign vers URI du bouchon correspondant
+     */
+    public static ConfigurableApplicationContext start(Class<?> application, String name,
+                                                       Map<String, String> downstreamUris) {
+        return start(application, name, downstreamUris, WebApplicationType.NONE, Map.of());
+    }
+
+    /**
+     * Variante avec serveur HTTP (Tomcat sur un port libre, lu via local.server.port)
+     * et propriétés supplémentaires, pour les tests de charge.
+     */
+    public static ConfigurableApplicationContext start(Class<?> application, String name,
+                                                       Map<String, String> downstreamUris,
+                                                       WebApplicationType webApplicationType,
+                                                       Map<String, Object> extraProperties) {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("spring.application.name", name);
+        properties.put("spring.datasource.url", "jdbc:h2:mem:" + name + ";MODE=MySQL;DB_CLOSE_DELAY=-1");
+        properties.put("spring.datasource.driver-class-name", "org.h2.Driver");
+        properties.put("spring.datasource.username", "sa");
+        properties.put("spring.datasource.password", "");
+        properties.put("spring.jpa.hibernate.ddl-auto", "create-drop");
+        properties.put("spring.jpa.show-sql", "false");
+        properties.put("spring.jpa.open-in-view", "false");
+        // JCache est sur le classpath pour voter-service : vote-service garde son cache Spring Caffeine
+        properties.put("spring.cache.type", "caffeine");
+        properties.put("spring.cache.cache-names", "electors");
+        properties.put("spring.cache.caffeine.spec", "maximumSize=500000,expireAfterWrite=30m,recordStats");
+        properties.put("eureka.client.enabled", "false");
+        properties.put("vote.outbox.relay-interval-ms", "3600000");
+        properties.put("logging.level.root", "WARN");
+        if ("voter-service".equals(name)) {
+            // Cache de second niveau Hibernate, comme dans application.properties de voter-service
+            properties.put("spring.jpa.properties.hibernate.cache.use_second_level_cache", "true");
+            properties.put("spring.jpa.properties.hibernate.cache.region.factory_class", "jcache");
+            properties.put("spring.jpa.properties.hibernate.javax.cache.provider",
+                    "com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider");
+            properties.put("spring.jpa.properties.hibernate.javax.cache.missing_cache_strategy", "fail");
+            properties.put("spring.jpa.properties.hibernate.cache.use_query_cache", "false");
+        }
+        downstreamUris.forEach((service, uri) ->
+                properties.put("spring.cloud.discovery.client.simple.instances." + service + "[0].uri", uri));
+        if (webApplicationType != WebApplicationType.NONE) {
+            properties.put("server.port", "0");
+        }
+        properties.putAll(extraProperties);
+
+        return new SpringApplicationBuilder(application)
+                .web(webApplicationType)
+                .properties(properties)
+                .run();
+    }
+}
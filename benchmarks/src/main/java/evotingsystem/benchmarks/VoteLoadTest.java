@@ -0,0 +1,159 @@
+package evotingsystem.benchmarks;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import evotingsystem.voteservice.VoteServiceApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+
+/**
+ * Test de charge HTTP de POST /api/votes, pour comparer threads de plateforme
+ * et threads virtuels (spring.threads.virtual.enabled, Java 21+).
+ *
+ * vote-service tourne sur Tomcat avec H2 ; voter-service est un bouchon WireMock
+ * qui répond après un délai fixe, pour reproduire l'attente bloquante de
+ * submitVote sur l'appel Feign. Chaque vote porte un nouvel électeur (cache
+ * froid, donc un appel Feign par vote). La charge est en boucle fermée : pour
+ * chaque palier, N clients envoient un vote dès la réponse au précédent.
+ *
+ * Propriétés système :
+ * - load.virtual : active les threads virtuels côté service (false)
+ * - load.ingestion : mode d'ingestion des votes, direct ou write-behind (direct)
+ * - load.downstream-delay-ms : délai du bouchon voter-service (20)
+ * - load.concurrency : paliers de clients simultanés (50,100,200,400,800)
+ * - load.step-seconds : durée de chaque palier (10)
+ * - load.p99-slo-ms : p99 au-delà duquel un palier n'est plus « tenu » (250)
+ */
+public class VoteLoadTest {
+
+    private static final String ELECTOR_JSON = "{\"idElector\":1,\"nom\":\"Dupont\",\"prenom\":\"Jean\","
+            + "\"dateNaissance\":\"1990-05-15\",\"identifiantSecurise\":\"ID001234\",\"aVote\":false}";
+
+    public static void main(String[] args) throws Exception {
+        boolean virtual = Boolean.getBoolean("load.virtual");
+        String ingestion = System.getProperty("load.ingestion", "direct");
+        int downstreamDelayMs = Integer.getInteger("load.downstream-delay-ms", 20);
+        int[] concurrencyLevels = Arrays.stream(System.getProperty("load.concurrency", "50,100,200,400,800").split(","))
+                .mapToInt(level -> Integer.parseInt(level.trim()))
+                .toArray();
+        int stepSeconds = Integer.getInteger("load.step-seconds", 10);
+        long p99SloMs = Integer.getInteger("load.p99-slo-ms", 250);
+
+        if (virtual && Runtime.version().feature() < 21) {
+            System.err.println("Threads virtuels demandés mais JVM " + Runtime.version().feature()
+                    + " : Java 21 requis, la mesure se fera avec des threads de plateforme.");
+        }
+
+        WireMockServer voterService = new WireMockServer(options().dynamicPort().containerThreads(1000));
+        voterService.start();
+        voterService.stubFor(get(urlPathMatching("/api/electors/\\d+"))
+                .willReturn(okJson(ELECTOR_JSON).withFixedDelay(downstreamDelayMs)));
+
+        ConfigurableApplicationContext context = ServiceContexts.start(VoteServiceApplication.class, "vote-service",
+                Map.of("voter-service", voterService.baseUrl()),
+                WebApplicationType.SERVLET,
+                Map.of("spring.threads.virtual.enabled", String.valueOf(virtual),
+                        "vote.ingestion.mode", ingestion,
+                        "vote.ingestion.journal-dir", Files.createTempDirectory("vote-journal").toString()));
+        URI votes = URI.create("http://localhost:"
+                + context.getEnvironment().getProperty("local.server.port") + "/api/votes");
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        AtomicLong nextElectorId = new AtomicLong(1_000_000L);
+
+        try {
+            System.out.printf("Threads %s, ingestion %s, délai voter-service %d ms, paliers de %d s%n",
+                    virtual ? "virtuels" : "de plateforme", ingestion, downstreamDelayMs, stepSeconds);
+            System.out.printf("%8s %12s %10s %10s %10s %8s%n", "clients", "votes/s", "p50 (ms)", "p99 (ms)", "max (ms)", "erreurs");
+
+            double maxSustained = 0;
+            for (int concurrency : concurrencyLevels) {
+                StepResult step = runStep(client, votes, nextElectorId, concurrency, Duration.ofSeconds(stepSeconds));
+                System.out.printf("%8d %12.0f %10.1f %10.1f %10.1f %8d%n", concurrency, step.throughput(),
+                        step.percentileMs(0.50), step.percentileMs(0.99), step.percentileMs(1.0), step.errors());
+                if (step.errors() == 0 && step.percentileMs(0.99) <= p99SloMs) {
+                    maxSustained = Math.max(maxSustained, step.throughput());
+                }
+            }
+            System.out.printf("Débit maximal tenu (p99 <= %d ms, sans erreur) : %.0f votes/s%n", p99SloMs, maxSustained);
+        } finally {
+            context.close();
+            voterService.stop();
+        }
+    }
+
+    private static StepResult runStep(HttpClient client, URI votes, AtomicLong nextElectorId,
+                                      int concurrency, Duration duration) throws InterruptedException {
+        Queue<Long> latencies = new ConcurrentLinkedQueue<>();
+        LongAdder errors = new LongAdder();
+        CountDownLatch finished = new CountDownLatch(concurrency);
+        long start = System.nanoTime();
+        long deadline = start + duration.toNanos();
+
+        for (int i = 0; i < concurrency; i++) {
+            sendVote(client, votes, nextElectorId, deadline, latencies, errors, finished);
+        }
+        finished.await();
+
+        double seconds = (System.nanoTime() - start) / 1e9;
+        long[] sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+        return new StepResult(sorted, errors.sum(), (sorted.length - errors.sum()) / seconds);
+    }
+
+    /**
+     * Envoie un vote puis enchaîne le suivant à la réception de la réponse, jusqu'à l'échéance du palier.
+     */
+    private static void sendVote(HttpClient client, URI votes, AtomicLong nextElectorId, long deadline,
+                                 Queue<Long> latencies, LongAdder errors, CountDownLatch finished) {
+        if (System.nanoTime() >= deadline) {
+            finished.countDown();
+            return;
+        }
+
+        String body = "{\"electorId\":" + nextElectorId.getAndIncrement() + ",\"candidateId\":1}";
+        HttpRequest request = HttpRequest.newBuilder(votes)
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofSeconds(30))
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        long sent = System.nanoTime();
+        client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, failure) -> {
+                    latencies.add(System.nanoTime() - sent);
+                    if (failure != null || response.statusCode() != 200) {
+                        errors.increment();
+                    }
+                    sendVote(client, votes, nextElectorId, deadline, latencies, errors, finished);
+                });
+    }
+
+    private record StepResult(long[] sortedLatencies, long errors, double throughput) {
+
+        double percentileMs(double percentile) {
+            if (sortedLatencies.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile * sortedLatencies.length) - 1;
+            return sortedLatencies[Math.max(0, index)] / 1e6;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package evotingsystem.benchmarks;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import evotingsystem.voteservice.VoteServiceApplication;
+import evotingsystem.voteservice.dtos.VoteRequest;
+import evotingsystem.voteservice.dtos.VoteResponse;
+import evotingsystem.voteservice.exceptions.AlreadyVotedException;
+import evotingsystem.voteservice.services.VoteService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+
+/**
+ * Chemin de soumission d'un vote (VoteServiceImpl.submitVote), voter-service
+ * étant remplacé par un bouchon WireMock.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class VoteSubmitBenchmark {
+
+    private static final String ELECTOR_JSON = "{\"idElector\":1,\"nom\":\"Dupont\",\"prenom\":\"Jean\","
+            + "\"dateNaissance\":\"1990-05-15\",\"identifiantSecurise\":\"ID001234\",\"aVote\":false}";
+
+    private WireMockServer voterService;
+    private ConfigurableApplicationContext context;
+    private VoteService voteService;
+    private final AtomicLong nextElectorId = new AtomicLong(1_000_000L);
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        voterService = new WireMockServer(options().dynamicPort());
+        voterService.start();
+        voterService.stubFor(get(urlPathMatching("/api/electors/\\d+"))
+                .willReturn(okJson(ELECTOR_JSON)));
+
+        context = ServiceContexts.start(VoteServiceApplication.class, "vote-service",
+                Map.of("voter-service", voterService.baseUrl()));
+        voteService = context.getBean(VoteService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+        voterService.stop();
+    }
+
+    /**
+     * Vote d'un nouvel électeur : appel Feign (cache froid) puis insertion.
+     */
+    @Benchmark
+    public VoteResponse submitNewVote() {
+        return voteService.submitVote(new VoteRequest(nextElectorId.getAndIncrement(), 1L));
+    }
+
+    /**
+     * Second vote d'un électeur déjà enregistré : électeur en cache, insertion rejetée.
+     */
+    @Benchmark
+    public String submitDuplicateVote() {
+        try {
+            voteService.submitVote(new VoteRequest(1L, 1L));
+            return "accepted";
+        } catch (AlreadyVotedException e) {
+            return e.getMessage();
+        }
+    }
+}
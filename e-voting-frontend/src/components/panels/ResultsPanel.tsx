@@ -25,8 +25,34 @@ const ResultsPanel: React.FC<ResultsPanelProps> = ({ onUpdate }) => {
 
   useEffect(() => {
     loadData();
+
+    // Mises à jour en direct : les deltas portent les totaux absolus des candidats modifiés
+    const stream = resultService.streamResults();
+    stream.addEventListener('snapshot', (event) => {
+      const snapshot = JSON.parse((event as MessageEvent).data);
+      setResults(snapshot.results || []);
+      updateTotalVotes(snapshot.totalVotes);
+    });
+    stream.addEventListener('delta', (event) => {
+      const delta = JSON.parse((event as MessageEvent).data);
+      setResults((current) => {
+        const updated = new Map(current.map((r) => [r.candidateId, r]));
+        delta.changed.forEach((r: Result) => updated.set(r.candidateId, r));
+        return Array.from(updated.values());
+      });
+      // totalVotes du delta : total de tous les candidats, modifiés ou non
+      updateTotalVotes(delta.totalVotes);
+    });
+    return () => stream.close();
   }, []);
 
+  const updateTotalVotes = (totalVotes?: number) => {
+    if (totalVotes === undefined) {
+      return;
+    }
+    setStatistics((current) => (current ? { ...current, totalVotes } : current));
+  };
+
   const loadData = async () => {
     try {
       setLoading(true);
@@ -31,5 +31,7 @@ export const resultService = {
   getResults: () => axios.get(`${API_BASE_URLS.result}/results`),
   getStatistics: () => axios.get(`${API_BASE_URLS.result}/results/statistics`),
   publishResults: () => axios.post(`${API_BASE_URLS.result}/results/publish`),
+  // Résultats en direct (SSE) : événement "snapshot" puis "delta" à chaque changement
+  streamResults: () => new EventSource(`${API_BASE_URLS.result}/results/stream`),
 };
 
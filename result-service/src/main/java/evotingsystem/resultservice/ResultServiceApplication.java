@@ -9,12 +9,14 @@ import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
 import org.springframework.cloud.openfeign.EnableFeignClients;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Application principale du service de résultats.
  * 
  * Ce service calcule et publie les résultats des votes en communiquant
- * avec vote-service pour récupérer les votes.
+ * avec vote-service pour récupérer les votes. Les résultats en direct sont
+ * diffusés aux tableaux de bord par Server-Sent Events.
  * 
  * @author Équipe E-Voting System
  * @version 1.0.0
@@ -22,6 +24,7 @@ import org.springframework.cloud.openfeign.EnableFeignClients;
 @SpringBootApplication
 @EnableDiscoveryClient
 @EnableFeignClients
+@EnableScheduling
 @Slf4j
 @RequiredArgsConstructor
 public class ResultServiceApplication implements CommandLineRunner {
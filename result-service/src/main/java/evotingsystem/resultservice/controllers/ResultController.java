@@ -1,12 +1,25 @@
 package evotingsystem.resultservice.controllers;
 
-import evotingsystem.resultservice.dtos.ResultDTO;
-import evotingsystem.resultservice.dtos.StatisticsDTO;
+import evotingsystem.resultservice.dtos.TurnoutDTO;
+import evotingsystem.resultservice.entities.BucketGranularity;
+import evotingsystem.resultservice.exceptions.ServiceUnavailableException;
+import evotingsystem.resultservice.feignclients.models.VoteDTO;
 import evotingsystem.resultservice.services.ResultService;
+import evotingsystem.resultservice.services.ResultsSnapshot;
+import evotingsystem.resultservice.services.ResultsSnapshotService;
+import evotingsystem.resultservice.services.ResultsStreamService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -15,20 +28,102 @@ import java.util.List;
 public class ResultController {
 
     private final ResultService resultService;
+    private final ResultsSnapshotService snapshotService;
+    private final ResultsStreamService streamService;
 
     @PostMapping("/calculate")
     public ResponseEntity<String> calculateResults() {
-        resultService.calculateResults();
-        return ResponseEntity.ok("Results calculated successfully");
+        try {
+            resultService.calculateResults();
+            return ResponseEntity.ok("Results calculated successfully");
+        } catch (ServiceUnavailableException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(e.getMessage());
+        }
     }
 
+    // Événements VoteCast diffusés par l'outbox de vote-service (503 : l'outbox les renverra)
+    @PostMapping("/events/vote-cast")
+    public ResponseEntity<String> onVotesCast(@RequestBody List<VoteDTO> events) {
+        try {
+            resultService.applyVotes(events);
+            return ResponseEntity.ok().build();
+        } catch (ServiceUnavailableException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(e.getMessage());
+        }
+    }
+
+    // Lectures servies depuis la photographie courante : JSON déjà sérialisé, 304 si l'ETag n'a pas changé,
+    // 503 tant que les totaux ne sont pas chargés
     @GetMapping
-    public ResponseEntity<List<ResultDTO>> getResults() {
-        return ResponseEntity.ok(resultService.getResults());
+    public ResponseEntity<byte[]> getResults(WebRequest request) {
+        try {
+            ResultsSnapshot snapshot = snapshotService.getSnapshot();
+            return snapshotResponse(snapshot.getResultsJson(), snapshot.getResultsEtag(), request);
+        } catch (ServiceUnavailableException e) {
+            return unavailable(e);
+        }
     }
 
     @GetMapping("/statistics")
-    public ResponseEntity<StatisticsDTO> getStatistics() {
-        return ResponseEntity.ok(resultService.getStatistics());
+    public ResponseEntity<byte[]> getStatistics(WebRequest request) {
+        try {
+            ResultsSnapshot snapshot = snapshotService.getSnapshot();
+            return snapshotResponse(snapshot.getStatisticsJson(), snapshot.getStatisticsEtag(), request);
+        } catch (ServiceUnavailableException e) {
+            return unavailable(e);
+        }
+    }
+
+    // Votes par minute ou par heure sur [from, to), avec courbe cumulée ; candidateId optionnel
+    @GetMapping("/statistics/turnout")
+    public ResponseEntity<TurnoutDTO> getTurnout(
+            @RequestParam(defaultValue = "MINUTE") BucketGranularity granularity,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) Long candidateId) {
+        return ResponseEntity.ok(resultService.getTurnout(granularity, from, to, candidateId));
+    }
+
+    // Reconstruction des décomptes par intervalle à partir de vote-service (bornes nulles : toute l'élection)
+    @PostMapping("/statistics/turnout/backfill")
+    public ResponseEntity<String> backfillTurnout(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        try {
+            resultService.backfillTurnout(from, to);
+            return ResponseEntity.ok("Turnout buckets rebuilt successfully");
+        } catch (ServiceUnavailableException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(e.getMessage());
+        }
+    }
+
+    // Résultats en direct : événement "snapshot" puis "delta" au plus une fois par result.stream.interval-ms
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamResults() {
+        try {
+            return ResponseEntity.ok(streamService.subscribe());
+        } catch (ServiceUnavailableException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+
+    private ResponseEntity<byte[]> snapshotResponse(byte[] json, String etag, WebRequest request) {
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(CacheControl.noCache())
+                .eTag(etag)
+                .body(json);
+    }
+
+    private static ResponseEntity<byte[]> unavailable(ServiceUnavailableException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .contentType(MediaType.TEXT_PLAIN)
+                .body(e.getMessage().getBytes(StandardCharsets.UTF_8));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,20 @@
+package evotingsystem.resultservice.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Mise à jour poussée aux abonnés du flux de résultats : totaux des seuls
+ * candidats modifiés depuis le dernier envoi, et nouveaux totaux globaux.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultsDeltaDTO {
+    private Long totalVotes;
+    private Integer totalCandidates;
+    private List<ResultDTO> changed;
+}
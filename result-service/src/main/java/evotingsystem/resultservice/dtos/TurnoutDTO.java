@@ -0,0 +1,20 @@
+package evotingsystem.resultservice.dtos;
+
+import evotingsystem.resultservice.entities.BucketGranularity;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TurnoutDTO {
+    private BucketGranularity granularity;
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private Long candidateId;
+    private List<TurnoutPointDTO> points; // intervalles sans vote omis
+}
@@ -0,0 +1,18 @@
+package evotingsystem.resultservice.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TurnoutPointDTO {
+    private LocalDateTime bucketStart;
+    private Long votes;
+    private Long cumulativeVotes;
+    private Map<Long, Long> votesByCandidate;
+}
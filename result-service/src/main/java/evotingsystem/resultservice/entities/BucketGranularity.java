@@ -0,0 +1,28 @@
+package evotingsystem.resultservice.entities;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Taille d'un intervalle de décompte des votes.
+ */
+public enum BucketGranularity {
+    MINUTE(ChronoUnit.MINUTES),
+    HOUR(ChronoUnit.HOURS);
+
+    private final ChronoUnit unit;
+
+    BucketGranularity(ChronoUnit unit) {
+        this.unit = unit;
+    }
+
+    public LocalDateTime truncate(LocalDateTime dateHeure) {
+        return dateHeure.truncatedTo(unit);
+    }
+
+    // Début de l'intervalle suivant si dateHeure n'est pas déjà alignée
+    public LocalDateTime ceil(LocalDateTime dateHeure) {
+        LocalDateTime start = truncate(dateHeure);
+        return start.equals(dateHeure) ? start : start.plus(1, unit);
+    }
+}
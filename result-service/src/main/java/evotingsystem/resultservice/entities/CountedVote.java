@@ -0,0 +1,27 @@
+package evotingsystem.resultservice.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Vote déjà comptabilisé dans la table results. Les identifiants de vote sont
+ * attribués à l'insertion et non à la validation : un vote d'identifiant
+ * inférieur peut arriver après un vote supérieur, le plus grand identifiant
+ * compté ne suffit donc pas à savoir quels votes l'ont été.
+ */
+@Entity
+@Table(name = "counted_votes")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CountedVote {
+
+    @Id
+    @Column(name = "vote_id")
+    private Long voteId;
+}
@@ -0,0 +1,30 @@
+package evotingsystem.resultservice.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Identifiants [fromId, toId] sans vote lors du premier chargement, quand les
+ * totaux ont été initialisés depuis les décomptes de vote-service : tous les
+ * autres identifiants jusqu'à TallyWatermark.seedVoteId sont comptés sans
+ * figurer dans counted_votes. Un vote de la plage compté plus tard y est ajouté.
+ */
+@Entity
+@Table(name = "tally_seed_gaps")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeedGap {
+
+    @Id
+    @Column(name = "from_id")
+    private Long fromId;
+
+    @Column(name = "to_id", nullable = false)
+    private Long toId;
+}
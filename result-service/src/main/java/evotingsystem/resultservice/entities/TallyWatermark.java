@@ -0,0 +1,35 @@
+package evotingsystem.resultservice.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Point de reprise du décompte incrémental : identifiant du dernier vote
+ * déjà comptabilisé dans la table results, identifiant en deçà duquel
+ * tout vote est compté ou abandonné (aucun trou à relire), et plus grand
+ * identifiant des décomptes de vote-service du premier chargement (SeedGap).
+ */
+@Entity
+@Table(name = "tally_watermark")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TallyWatermark {
+
+    public static final Long SINGLETON_ID = 1L;
+
+    @Id
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "last_vote_id", nullable = false)
+    private Long lastVoteId;
+
+    @Column(name = "settled_vote_id", nullable = false)
+    private Long settledVoteId;
+
+    @Column(name = "seed_vote_id", nullable = false)
+    private Long seedVoteId;
+}
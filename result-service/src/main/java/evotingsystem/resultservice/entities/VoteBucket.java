@@ -0,0 +1,40 @@
+package evotingsystem.resultservice.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Nombre de votes d'un candidat sur un intervalle (minute ou heure), tenu à
+ * jour au fil des votes comptabilisés.
+ */
+@Entity
+@Table(name = "vote_buckets", indexes = {
+    @Index(name = "idx_bucket", columnList = "granularity, bucketStart, candidateId", unique = true)
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VoteBucket {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "granularity", nullable = false, length = 10)
+    private BucketGranularity granularity;
+
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+
+    @Column(name = "candidate_id", nullable = false)
+    private Long candidateId;
+
+    @Column(name = "vote_count", nullable = false)
+    private Long voteCount;
+}
@@ -0,0 +1,11 @@
+package evotingsystem.resultservice.exceptions;
+
+/**
+ * Service appelé injoignable, trop lent, en surcharge (bulkhead plein) ou
+ * coupé par son circuit breaker : la requête peut être réessayée plus tard.
+ */
+public class ServiceUnavailableException extends RuntimeException {
+    public ServiceUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
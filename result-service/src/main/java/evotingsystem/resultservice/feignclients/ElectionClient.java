@@ -4,10 +4,17 @@ import evotingsystem.resultservice.feignclients.models.ElectorDTO;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 
-@FeignClient(name = "voter-service")
+import java.util.List;
+
+@FeignClient(name = "voter-service", fallbackFactory = ElectionClientFallbackFactory.class)
 public interface ElectionClient {
 
     @GetMapping("/api/electors/{id}")
     ElectorDTO getElectorById(@PathVariable("id") Long id);
+
+    @PostMapping("/api/electors/batch")
+    List<ElectorDTO> getElectorsByIds(@RequestBody List<Long> ids);
 }
\ No newline at end of file
@@ -0,0 +1,27 @@
+package evotingsystem.resultservice.feignclients;
+
+import evotingsystem.resultservice.feignclients.models.ElectorDTO;
+import org.springframework.cloud.openfeign.FallbackFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+public class ElectionClientFallbackFactory implements FallbackFactory<ElectionClient> {
+
+    @Override
+    public ElectionClient create(Throwable cause) {
+        RuntimeException failure = FeignFailures.translate("voter-service", cause);
+        return new ElectionClient() {
+            @Override
+            public ElectorDTO getElectorById(Long id) {
+                throw failure;
+            }
+
+            @Override
+            public List<ElectorDTO> getElectorsByIds(List<Long> ids) {
+                throw failure;
+            }
+        };
+    }
+}
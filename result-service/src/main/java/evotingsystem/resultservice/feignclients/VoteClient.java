@@ -1,18 +1,42 @@
 package evotingsystem.resultservice.feignclients;
 
+import evotingsystem.resultservice.feignclients.models.MinuteVoteCountDTO;
+import evotingsystem.resultservice.feignclients.models.VoteCountSnapshotDTO;
 import evotingsystem.resultservice.feignclients.models.VoteDTO;
+import feign.Response;
 import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
-@FeignClient(name = "vote-service")
+@FeignClient(name = "vote-service", fallbackFactory = VoteClientFallbackFactory.class)
 public interface VoteClient {
 
-    @GetMapping("/api/votes")
-    List<VoteDTO> getAllVotes();
-
     @GetMapping("/api/votes/candidate/{candidateId}")
     List<VoteDTO> getVotesByCandidate(@PathVariable("candidateId") Long candidateId);
-}
\ No newline at end of file
+
+    @GetMapping("/api/votes/page")
+    List<VoteDTO> getVotesPage(@RequestParam("afterId") Long afterId,
+                               @RequestParam("limit") int limit);
+
+    // Flux NDJSON des votes d'identifiant dans (afterId, maxId] (maxId nul : sans borne) : le corps est lu
+    // au fil de l'eau par l'appelant, qui doit fermer la réponse
+    @GetMapping(value = "/api/votes/stream", produces = "application/x-ndjson")
+    Response streamVotes(@RequestParam("afterId") Long afterId,
+                         @RequestParam(value = "maxId", required = false) Long maxId);
+
+    // Décomptes par candidat et par minute de tous les votes, et identifiants sans vote, lus dans un même état
+    @GetMapping("/api/votes/counts/snapshot")
+    VoteCountSnapshotDTO getVoteCountSnapshot();
+
+    // Décompte par candidat et par minute sur [from, to), limité aux votes d'identifiant <= maxId
+    @GetMapping("/api/votes/counts/per-minute")
+    List<MinuteVoteCountDTO> getVoteCountsPerMinute(
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(value = "maxId", required = false) Long maxId);
+}
@@ -0,0 +1,46 @@
+package evotingsystem.resultservice.feignclients;
+
+import evotingsystem.resultservice.feignclients.models.MinuteVoteCountDTO;
+import evotingsystem.resultservice.feignclients.models.VoteCountSnapshotDTO;
+import evotingsystem.resultservice.feignclients.models.VoteDTO;
+import feign.Response;
+import org.springframework.cloud.openfeign.FallbackFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Component
+public class VoteClientFallbackFactory implements FallbackFactory<VoteClient> {
+
+    @Override
+    public VoteClient create(Throwable cause) {
+        RuntimeException failure = FeignFailures.translate("vote-service", cause);
+        return new VoteClient() {
+            @Override
+            public List<VoteDTO> getVotesByCandidate(Long candidateId) {
+                throw failure;
+            }
+
+            @Override
+            public List<VoteDTO> getVotesPage(Long afterId, int limit) {
+                throw failure;
+            }
+
+            @Override
+            public Response streamVotes(Long afterId, Long maxId) {
+                throw failure;
+            }
+
+            @Override
+            public VoteCountSnapshotDTO getVoteCountSnapshot() {
+                throw failure;
+            }
+
+            @Override
+            public List<MinuteVoteCountDTO> getVoteCountsPerMinute(LocalDateTime from, LocalDateTime to, Long maxId) {
+                throw failure;
+            }
+        };
+    }
+}
@@ -0,0 +1,14 @@
+package evotingsystem.resultservice.feignclients.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CandidateVoteCountDTO {
+    private Long candidateId;
+    private Long totalVotes;
+    private Long lastVoteId;
+}
@@ -0,0 +1,16 @@
+package evotingsystem.resultservice.feignclients.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MinuteVoteCountDTO {
+    private Long candidateId;
+    private LocalDateTime minute;
+    private Long totalVotes;
+}
@@ -0,0 +1,18 @@
+package evotingsystem.resultservice.feignclients.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VoteCountSnapshotDTO {
+    private Long lastVoteId;
+    private List<CandidateVoteCountDTO> counts;
+    private List<MinuteVoteCountDTO> countsPerMinute;
+    // Identifiants de [1, lastVoteId] sans vote validé au moment de la lecture
+    private List<VoteIdRangeDTO> missingIds;
+}
@@ -0,0 +1,13 @@
+package evotingsystem.resultservice.feignclients.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VoteIdRangeDTO {
+    private Long fromId;
+    private Long toId;
+}
@@ -0,0 +1,25 @@
+package evotingsystem.resultservice.repositories;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Insertion des votes comptabilisés par lots JDBC, dans la transaction de
+ * l'appelant : saveAll() ferait un SELECT par vote, l'identifiant étant attribué.
+ */
+@Repository
+@RequiredArgsConstructor
+public class CountedVoteBatchRepository {
+
+    private static final String INSERT_SQL = "INSERT INTO counted_votes (vote_id) VALUES (?)";
+    private static final int BATCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void insertAll(List<Long> voteIds) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, voteIds, BATCH_SIZE, (ps, voteId) -> ps.setLong(1, voteId));
+    }
+}
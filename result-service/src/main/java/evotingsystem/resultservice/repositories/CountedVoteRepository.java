@@ -0,0 +1,26 @@
+package evotingsystem.resultservice.repositories;
+
+import evotingsystem.resultservice.entities.CountedVote;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+
+@Repository
+public interface CountedVoteRepository extends JpaRepository<CountedVote, Long> {
+
+    // Lu en flux au démarrage, dans une transaction
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "10000"))
+    @Query("SELECT c.voteId FROM CountedVote c")
+    Stream<Long> streamVoteIds();
+
+    @Query("SELECT c.voteId FROM CountedVote c WHERE c.voteId > :afterId")
+    List<Long> findVoteIdsAfter(@Param("afterId") Long afterId);
+}
@@ -0,0 +1,9 @@
+package evotingsystem.resultservice.repositories;
+
+import evotingsystem.resultservice.entities.SeedGap;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface SeedGapRepository extends JpaRepository<SeedGap, Long> {
+}
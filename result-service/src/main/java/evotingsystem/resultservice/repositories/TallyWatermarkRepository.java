@@ -0,0 +1,21 @@
+package evotingsystem.resultservice.repositories;
+
+import evotingsystem.resultservice.entities.TallyWatermark;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface TallyWatermarkRepository extends JpaRepository<TallyWatermark, Long> {
+
+    // Verrouille le point de reprise : calcul périodique et événements VoteCast
+    // ne peuvent pas appliquer le même delta simultanément
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT w FROM TallyWatermark w WHERE w.id = :id")
+    Optional<TallyWatermark> findForUpdate(@Param("id") Long id);
+}
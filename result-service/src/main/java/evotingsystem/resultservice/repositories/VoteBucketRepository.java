@@ -0,0 +1,43 @@
+package evotingsystem.resultservice.repositories;
+
+import evotingsystem.resultservice.entities.BucketGranularity;
+import evotingsystem.resultservice.entities.VoteBucket;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface VoteBucketRepository extends JpaRepository<VoteBucket, Long> {
+    Optional<VoteBucket> findByGranularityAndBucketStartAndCandidateId(BucketGranularity granularity,
+                                                                       LocalDateTime bucketStart,
+                                                                       Long candidateId);
+
+    @Query("SELECT b FROM VoteBucket b " +
+           "WHERE b.granularity = :granularity " +
+           "AND (:from IS NULL OR b.bucketStart >= :from) AND (:to IS NULL OR b.bucketStart < :to) " +
+           "AND (:candidateId IS NULL OR b.candidateId = :candidateId) " +
+           "ORDER BY b.bucketStart, b.candidateId")
+    List<VoteBucket> findRange(@Param("granularity") BucketGranularity granularity,
+                               @Param("from") LocalDateTime from,
+                               @Param("to") LocalDateTime to,
+                               @Param("candidateId") Long candidateId);
+
+    // Votes antérieurs à la plage demandée : point de départ de la courbe cumulée
+    @Query("SELECT COALESCE(SUM(b.voteCount), 0) FROM VoteBucket b " +
+           "WHERE b.granularity = :granularity AND b.bucketStart < :before " +
+           "AND (:candidateId IS NULL OR b.candidateId = :candidateId)")
+    long sumBefore(@Param("granularity") BucketGranularity granularity,
+                   @Param("before") LocalDateTime before,
+                   @Param("candidateId") Long candidateId);
+
+    @Modifying
+    @Query("DELETE FROM VoteBucket b " +
+           "WHERE (:from IS NULL OR b.bucketStart >= :from) AND (:to IS NULL OR b.bucketStart < :to)")
+    int deleteRange(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+}
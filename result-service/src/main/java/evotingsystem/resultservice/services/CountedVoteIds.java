@@ -0,0 +1,112 @@
+package evotingsystem.resultservice.services;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Identifiants des votes comptabilisés, un bit par identifiant : les
+ * identifiants de vote-service sont denses, 10 millions de votes occupent 1,25 Mo.
+ *
+ * Ajouts concurrents sans verrou : les pages de bits sont créées à la demande
+ * par compareAndSet et ne sont jamais recopiées, aucun bit ne peut être perdu.
+ */
+class CountedVoteIds {
+
+    // 2^20 identifiants (128 Ko) par page, 2^14 pages : 17 milliards d'identifiants
+    private static final int PAGE_BITS = 20;
+    private static final int WORDS_PER_PAGE = 1 << (PAGE_BITS - 6);
+    private static final int PAGES = 1 << 14;
+
+    private final AtomicReferenceArray<AtomicLongArray> pages = new AtomicReferenceArray<>(PAGES);
+
+    /**
+     * @return false si le vote est déjà comptabilisé
+     */
+    boolean add(long voteId) {
+        if (voteId <= 0) {
+            throw new IllegalArgumentException("Identifiant de vote invalide : " + voteId);
+        }
+        long offset = voteId - 1;
+        int word = (int) ((offset >>> 6) & (WORDS_PER_PAGE - 1));
+        long mask = 1L << offset;
+        return (page(voteId).getAndAccumulate(word, mask, (bits, bit) -> bits | bit) & mask) == 0;
+    }
+
+    /**
+     * Marque comptés tous les identifiants de [fromId, toId], par mots de 64.
+     */
+    void addRange(long fromId, long toId) {
+        if (fromId <= 0) {
+            throw new IllegalArgumentException("Identifiant de vote invalide : " + fromId);
+        }
+        long id = fromId;
+        while (id <= toId) {
+            long offset = id - 1;
+            int first = (int) (offset & 63);
+            int count = (int) Math.min(64 - first, toId - id + 1);
+            long mask = (count == 64 ? -1L : (1L << count) - 1) << first;
+            page(id).getAndAccumulate((int) ((offset >>> 6) & (WORDS_PER_PAGE - 1)), mask, (bits, bit) -> bits | bit);
+            id += count;
+        }
+    }
+
+    private AtomicLongArray page(long voteId) {
+        int pageIndex = (int) ((voteId - 1) >>> PAGE_BITS);
+        if (pageIndex >= PAGES) {
+            throw new IllegalStateException("Identifiant de vote hors limites : " + voteId);
+        }
+        AtomicLongArray page = pages.get(pageIndex);
+        if (page == null) {
+            pages.compareAndSet(pageIndex, null, new AtomicLongArray(WORDS_PER_PAGE));
+            page = pages.get(pageIndex);
+        }
+        return page;
+    }
+
+    /**
+     * Plages maximales d'identifiants non comptabilisés dans (afterId, toId],
+     * par identifiant croissant. Les mots de 64 identifiants entièrement
+     * comptés ou entièrement absents sont traités d'un bloc.
+     */
+    List<VoteIdRange> missingRanges(long afterId, long toId) {
+        List<VoteIdRange> ranges = new ArrayList<>();
+        long gapStart = -1;
+        long id = Math.max(afterId, 0L) + 1;
+        while (id <= toId) {
+            long offset = id - 1;
+            int pageIndex = (int) (offset >>> PAGE_BITS);
+            AtomicLongArray page = pageIndex < PAGES ? pages.get(pageIndex) : null;
+            long bits = page != null ? page.get((int) ((offset >>> 6) & (WORDS_PER_PAGE - 1))) : 0L;
+            int first = (int) (offset & 63);
+            int count = (int) Math.min(64 - first, toId - id + 1);
+            long mask = (count == 64 ? -1L : (1L << count) - 1) << first;
+            if ((bits & mask) == mask) {
+                if (gapStart > 0) {
+                    ranges.add(new VoteIdRange(gapStart, id - 1));
+                    gapStart = -1;
+                }
+            } else if ((bits & mask) == 0) {
+                if (gapStart < 0) {
+                    gapStart = id;
+                }
+            } else {
+                for (int bit = 0; bit < count; bit++) {
+                    boolean counted = (bits & (1L << (first + bit))) != 0;
+                    if (counted && gapStart > 0) {
+                        ranges.add(new VoteIdRange(gapStart, id + bit - 1));
+                        gapStart = -1;
+                    } else if (!counted && gapStart < 0) {
+                        gapStart = id + bit;
+                    }
+                }
+            }
+            id += count;
+        }
+        if (gapStart > 0) {
+            ranges.add(new VoteIdRange(gapStart, toId));
+        }
+        return ranges;
+    }
+}
@@ -2,11 +2,19 @@ package evotingsystem.resultservice.services;
 
 import evotingsystem.resultservice.dtos.ResultDTO;
 import evotingsystem.resultservice.dtos.StatisticsDTO;
+import evotingsystem.resultservice.dtos.TurnoutDTO;
+import evotingsystem.resultservice.entities.BucketGranularity;
+import evotingsystem.resultservice.feignclients.models.VoteDTO;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ResultService {
     void calculateResults();
+    void applyVotes(List<VoteDTO> votes);
     List<ResultDTO> getResults();
     StatisticsDTO getStatistics();
+    TurnoutDTO getTurnout(BucketGranularity granularity, LocalDateTime from, LocalDateTime to, Long candidateId);
+    void backfillTurnout(LocalDateTime from, LocalDateTime to);
+    void flushTallies();
 }
\ No newline at end of file
@@ -1,79 +1,379 @@
 package evotingsystem.resultservice.services;
 
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import evotingsystem.resultservice.dtos.ResultDTO;
 import evotingsystem.resultservice.dtos.StatisticsDTO;
+import evotingsystem.resultservice.dtos.TurnoutDTO;
+import evotingsystem.resultservice.entities.BucketGranularity;
 import evotingsystem.resultservice.entities.Result;
+import evotingsystem.resultservice.entities.SeedGap;
+import evotingsystem.resultservice.entities.TallyWatermark;
+import evotingsystem.resultservice.exceptions.ServiceUnavailableException;
 import evotingsystem.resultservice.feignclients.VoteClient;
+import evotingsystem.resultservice.feignclients.models.VoteCountSnapshotDTO;
 import evotingsystem.resultservice.feignclients.models.VoteDTO;
+import evotingsystem.resultservice.repositories.CountedVoteBatchRepository;
+import evotingsystem.resultservice.repositories.CountedVoteRepository;
 import evotingsystem.resultservice.repositories.ResultRepository;
+import evotingsystem.resultservice.repositories.SeedGapRepository;
+import evotingsystem.resultservice.repositories.TallyWatermarkRepository;
+import feign.Response;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class ResultServiceImpl implements ResultService {
 
+    // Votes du flux NDJSON comptabilisés par lot
+    private static final int STREAM_CHUNK_SIZE = 1000;
+    // Requêtes de relecture des trous par calcul, en plus de celle des nouveaux votes
+    private static final int MAX_GAP_REQUESTS = 8;
+
     private final ResultRepository resultRepository;
     private final VoteClient voteClient;
+    private final TallyWatermarkRepository watermarkRepository;
+    private final ObjectMapper objectMapper;
+    private final ResultsSnapshotService snapshotService;
+    private final VoteBucketService voteBucketService;
+    private final TallyEngine tallyEngine;
+    private final TransactionTemplate transactionTemplate;
+    private final CountedVoteRepository countedVoteRepository;
+    private final CountedVoteBatchRepository countedVoteBatchRepository;
+    private final SeedGapRepository seedGapRepository;
+
+    // Durée maximale de validation d'un vote dans vote-service : un identifiant encore absent au-delà est abandonné
+    @Value("${result.tally.gap-timeout-ms:60000}")
+    private long gapTimeoutMs;
+
+    // Plus grand vote compté à l'instant indiqué, par ordre chronologique (settle())
+    private final Deque<Checkpoint> checkpoints = new ConcurrentLinkedDeque<>();
+
+    @PostConstruct
+    void loadTallies() {
+        // Sans point de reprise, le premier calcul initialise les totaux (ensureLoaded)
+        transactionTemplate.executeWithoutResult(status ->
+                watermarkRepository.findById(TallyWatermark.SINGLETON_ID).ifPresent(this::loadEngine));
+    }
 
     @Override
     public void calculateResults() {
-        List<VoteDTO> allVotes = voteClient.getAllVotes();
+        ensureLoaded();
+        pollVotes();
+        flush();
+    }
+
+    @Override
+    public void applyVotes(List<VoteDTO> votes) {
+        ensureLoaded();
+        tallyEngine.record(votes);
+        // Les événements ne sont acquittés (200) qu'une fois écrits en base : sinon l'outbox les renverra
+        flush();
+    }
+
+    private void pollVotes() {
+        // Nouveaux votes, et trous en deçà du plus grand vote compté : les identifiants sont attribués à
+        // l'insertion, un vote d'identifiant inférieur peut être validé après un vote supérieur.
+        // Chaque trou est relu sur sa seule plage ; les votes déjà comptés sont ignorés par le moteur.
+        long startedAt = System.currentTimeMillis();
+        long lastVoteId = tallyEngine.getLastVoteId();
+        for (VoteIdRange gap : tallyEngine.openGaps(MAX_GAP_REQUESTS)) {
+            readVotes(gap.fromId() - 1, gap.toId(), tallyEngine::record);
+        }
+        readVotes(lastVoteId, null, tallyEngine::record);
+        settle(lastVoteId, startedAt);
+    }
+
+    // Votes d'identifiant dans (afterId, maxId], passés par lots de STREAM_CHUNK_SIZE à chunkConsumer
+    private void readVotes(long afterId, Long maxId, Consumer<List<VoteDTO>> chunkConsumer) {
+        // Type de retour Response : Feign ne passe pas par l'ErrorDecoder, le statut est vérifié ici
+        try (Response response = voteClient.streamVotes(afterId, maxId)) {
+            if (response.status() < 200 || response.status() >= 300) {
+                throw new ServiceUnavailableException(
+                        "Flux de votes indisponible : statut HTTP " + response.status(), null);
+            }
+            if (response.body() == null) {
+                return;
+            }
+            try (MappingIterator<VoteDTO> newVotes = objectMapper.readerFor(VoteDTO.class)
+                    .readValues(response.body().asInputStream())) {
+                List<VoteDTO> chunk = new ArrayList<>(STREAM_CHUNK_SIZE);
+                // hasNextValue/nextValue : une coupure en cours de lecture reste une IOException
+                while (newVotes.hasNextValue()) {
+                    chunk.add(newVotes.nextValue());
+                    if (chunk.size() == STREAM_CHUNK_SIZE) {
+                        chunkConsumer.accept(chunk);
+                        chunk.clear();
+                    }
+                }
+                chunkConsumer.accept(chunk);
+            }
+        } catch (IOException e) {
+            // Votes déjà lus : comptés, les suivants seront relus au prochain calcul
+            throw new ServiceUnavailableException("Lecture du flux de votes impossible", e);
+        }
+    }
 
-        // Compter les votes par candidat
-        Map<Long, Long> voteCounts = allVotes.stream()
-                .collect(Collectors.groupingBy(
-                        VoteDTO::getCandidateId,
-                        Collectors.counting()
-                ));
+    /**
+     * Clôt les trous dont la validation a eu le temps d'aboutir. Tout identifiant
+     * inférieur ou égal au plus grand vote compté à l'instant t a été attribué
+     * avant t ; un calcul démarré après t + result.tally.gap-timeout-ms qui ne l'a
+     * pas trouvé en déduit que son insertion a été annulée.
+     *
+     * @param lastVoteId plus grand vote compté au début du calcul
+     * @param startedAt  début du calcul, qui vient de relire tous les trous ouverts
+     */
+    private void settle(long lastVoteId, long startedAt) {
+        checkpoints.add(new Checkpoint(lastVoteId, startedAt));
+        long settledVoteId = 0L;
+        Checkpoint oldest;
+        while ((oldest = checkpoints.peek()) != null && oldest.timeMillis() <= startedAt - gapTimeoutMs) {
+            checkpoints.remove(oldest);
+            settledVoteId = Math.max(settledVoteId, oldest.voteId());
+        }
+        long abandoned = tallyEngine.settle(settledVoteId);
+        if (abandoned > 0) {
+            log.info("{} identifiants de vote jusqu'à {} non validés après {} ms, considérés comme annulés",
+                    abandoned, settledVoteId, gapTimeoutMs);
+        }
+    }
+
+    private synchronized void ensureLoaded() {
+        if (tallyEngine.isLoaded()) {
+            return;
+        }
+        // Premier calcul : décomptes de vote-service, lus hors transaction
+        VoteCountSnapshotDTO snapshot = watermarkRepository.existsById(TallyWatermark.SINGLETON_ID)
+                ? null : voteClient.getVoteCountSnapshot();
+        TallyWatermark watermark = transactionTemplate.execute(status -> watermarkRepository
+                .findForUpdate(TallyWatermark.SINGLETON_ID)
+                .orElseGet(() -> seedTallies(snapshot)));
+        transactionTemplate.executeWithoutResult(status -> loadEngine(watermark));
+    }
+
+    /**
+     * Premier chargement : les totaux existants ne correspondent à aucun vote
+     * compté, ils sont remplacés par les décomptes de vote-service, sans relire
+     * les votes. Les identifiants sans vote deviennent des trous ouverts, relus
+     * par les calculs suivants. Le point de reprise est créé dans la même
+     * transaction : en cas d'échec, tout est refait au prochain appel.
+     */
+    private TallyWatermark seedTallies(VoteCountSnapshotDTO snapshot) {
+        resultRepository.findAll().forEach(r -> r.setTotalVotes(0L));
+        voteBucketService.clear();
+        countedVoteRepository.deleteAllInBatch();
+        seedGapRepository.deleteAllInBatch();
 
-        // Sauvegarder les résultats
-        voteCounts.forEach((candidateId, count) -> {
+        snapshot.getCounts().forEach(count -> {
+            Result result = resultRepository
+                    .findByCandidateId(count.getCandidateId())
+                    .orElseGet(() -> new Result(null, count.getCandidateId(), 0L, null));
+            result.setTotalVotes(count.getTotalVotes());
+            resultRepository.save(result);
+        });
+
+        Map<LocalDateTime, Map<Long, Long>> votesByMinute = new HashMap<>();
+        snapshot.getCountsPerMinute().forEach(count -> votesByMinute
+                .computeIfAbsent(count.getMinute(), minute -> new HashMap<>())
+                .merge(count.getCandidateId(), count.getTotalVotes(), Long::sum));
+        voteBucketService.add(votesByMinute);
+
+        seedGapRepository.saveAll(snapshot.getMissingIds().stream()
+                .map(range -> new SeedGap(range.getFromId(), range.getToId()))
+                .toList());
+        long seedVoteId = snapshot.getLastVoteId();
+        log.info("Totaux initialisés depuis vote-service : votes jusqu'à {}, {} plages d'identifiants sans vote",
+                seedVoteId, snapshot.getMissingIds().size());
+        return watermarkRepository.save(new TallyWatermark(TallyWatermark.SINGLETON_ID, seedVoteId, 0L, seedVoteId));
+    }
+
+    private void loadEngine(TallyWatermark watermark) {
+        try (Stream<Long> countedVoteIds = countedVoteRepository.streamVoteIds()) {
+            tallyEngine.load(persistedTotals(), watermark.getLastVoteId(), watermark.getSettledVoteId(),
+                    seededRanges(watermark.getSeedVoteId()), countedVoteIds);
+        }
+        resetCheckpoints();
+    }
+
+    // Votes comptés par les décomptes du premier chargement : [1, seedVoteId] hors trous (SeedGap)
+    private List<VoteIdRange> seededRanges(long seedVoteId) {
+        List<VoteIdRange> ranges = new ArrayList<>();
+        long from = 1L;
+        for (SeedGap gap : seedGapRepository.findAll(Sort.by("fromId"))) {
+            if (gap.getFromId() > from) {
+                ranges.add(new VoteIdRange(from, gap.getFromId() - 1));
+            }
+            from = gap.getToId() + 1;
+        }
+        if (from <= seedVoteId) {
+            ranges.add(new VoteIdRange(from, seedVoteId));
+        }
+        return ranges;
+    }
+
+    // Trous rechargés : ouverts depuis le chargement, faute de savoir depuis quand
+    private void resetCheckpoints() {
+        checkpoints.clear();
+        checkpoints.add(new Checkpoint(tallyEngine.getLastVoteId(), System.currentTimeMillis()));
+    }
+
+    private Map<Long, Long> persistedTotals() {
+        Map<Long, Long> totals = new HashMap<>();
+        resultRepository.findAll().forEach(r -> totals.put(r.getCandidateId(), r.getTotalVotes()));
+        return totals;
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${result.tally.flush-interval-ms:1000}")
+    public void flushTallies() {
+        try {
+            flush();
+        } catch (ServiceUnavailableException e) {
+            log.warn("{}, nouvel essai au prochain passage", e.getMessage());
+        }
+    }
+
+    /**
+     * Écrit en base les votes comptabilisés depuis la dernière écriture. Une
+     * seule écriture à la fois : au retour, les votes comptés avant l'appel
+     * sont en base, y compris ceux retirés par une écriture concurrente.
+     *
+     * @throws ServiceUnavailableException si l'écriture échoue (delta remis pour la suivante)
+     */
+    private synchronized void flush() {
+        TallyDelta delta = tallyEngine.drain();
+        if (delta.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> writeDelta(delta));
+        } catch (RuntimeException e) {
+            tallyEngine.restore(delta);
+            throw new ServiceUnavailableException("Écriture des totaux en base impossible : " + e.getMessage(), e);
+        }
+    }
+
+    // Dans la transaction de l'appelant, sous le verrou du point de reprise : une reconstruction ne peut pas s'intercaler
+    private TallyWatermark writeDelta(TallyDelta delta) {
+        TallyWatermark watermark = watermarkRepository.findForUpdate(TallyWatermark.SINGLETON_ID)
+                .orElseGet(() -> new TallyWatermark(TallyWatermark.SINGLETON_ID, 0L, 0L, 0L));
+
+        // Ajouter les deltas aux totaux existants
+        delta.votesByCandidate().forEach((candidateId, count) -> {
             Result result = resultRepository
                     .findByCandidateId(candidateId)
-                    .orElse(new Result());
+                    .orElseGet(() -> new Result(null, candidateId, 0L, null));
 
-            result.setCandidateId(candidateId);
-            result.setTotalVotes(count);
+            result.setTotalVotes(result.getTotalVotes() + count);
             resultRepository.save(result);
         });
+
+        voteBucketService.add(delta.votesByMinute());
+        countedVoteBatchRepository.insertAll(delta.voteIds());
+
+        watermark.setLastVoteId(Math.max(watermark.getLastVoteId(), delta.lastVoteId()));
+        watermark.setSettledVoteId(Math.max(watermark.getSettledVoteId(), tallyEngine.getSettledVoteId()));
+        return watermarkRepository.save(watermark);
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        flushTallies();
+    }
+
+    /**
+     * Reconstruit les intervalles de [from, to) avec exactement les votes
+     * comptés : sinon un vote pas encore compté serait dans l'agrégat de
+     * vote-service, puis ajouté de nouveau aux intervalles une fois compté.
+     *
+     * Jusqu'à settledVoteId, tout vote validé est compté une fois relus les
+     * identifiants abandonnés : l'agrégat de vote-service s'applique. Au-delà,
+     * seuls les votes de counted_votes sont repris. Le delta en attente est
+     * écrit dans la même transaction, qui fixe les votes comptés : les votes
+     * comptés pendant la reconstruction vont au delta suivant.
+     *
+     * @throws ServiceUnavailableException si vote-service est indisponible, ou si
+     *         les décomptes du premier chargement ne sont pas encore clos
+     */
+    @Override
+    public synchronized void backfillTurnout(LocalDateTime from, LocalDateTime to) {
+        ensureLoaded();
+        long seedVoteId = watermarkRepository.findById(TallyWatermark.SINGLETON_ID)
+                .map(TallyWatermark::getSeedVoteId)
+                .orElse(0L);
+        long settledVoteId = tallyEngine.getSettledVoteId();
+        if (settledVoteId < seedVoteId) {
+            // Les votes des décomptes initiaux ne figurent pas dans counted_votes
+            throw new ServiceUnavailableException("Décomptes initiaux pas encore clos : nouvel essai après un calcul "
+                    + "postérieur de plus de " + gapTimeoutMs + " ms au premier chargement", null);
+        }
+        for (VoteIdRange abandoned : tallyEngine.abandonedGaps(MAX_GAP_REQUESTS)) {
+            readVotes(abandoned.fromId() - 1, abandoned.toId(), tallyEngine::record);
+        }
+
+        TallyDelta delta = tallyEngine.drain();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                TallyWatermark watermark = writeDelta(delta);
+                voteBucketService.backfill(from, to, settledVoteId,
+                        countedVotesAfter(settledVoteId, watermark.getLastVoteId()));
+            });
+        } catch (RuntimeException e) {
+            tallyEngine.restore(delta);
+            throw e;
+        }
+    }
+
+    // Votes de counted_votes d'identifiant dans (afterId, maxId], relus depuis vote-service
+    private List<VoteDTO> countedVotesAfter(long afterId, long maxId) {
+        Set<Long> countedIds = new HashSet<>(countedVoteRepository.findVoteIdsAfter(afterId));
+        List<VoteDTO> votes = new ArrayList<>(countedIds.size());
+        if (!countedIds.isEmpty()) {
+            readVotes(afterId, maxId, chunk -> chunk.stream()
+                    .filter(vote -> countedIds.contains(vote.getIdVote()))
+                    .forEach(votes::add));
+        }
+        return votes;
     }
 
     @Override
     public List<ResultDTO> getResults() {
-        List<Result> results = resultRepository.findAll();
-        Long totalVotes = results.stream()
-                .mapToLong(Result::getTotalVotes)
-                .sum();
-
-        return results.stream()
-                .map(r -> {
-                    ResultDTO dto = new ResultDTO();
-                    dto.setCandidateId(r.getCandidateId());
-                    dto.setTotalVotes(r.getTotalVotes());
-                    dto.setPercentage(totalVotes > 0 ?
-                            (r.getTotalVotes() * 100.0) / totalVotes : 0.0);
-                    return dto;
-                })
-                .collect(Collectors.toList());
+        return snapshotService.getSnapshot().getResults();
     }
 
     @Override
     public StatisticsDTO getStatistics() {
-        List<ResultDTO> results = getResults();
-        Long totalVotes = results.stream()
-                .mapToLong(ResultDTO::getTotalVotes)
-                .sum();
+        return snapshotService.getSnapshot().getStatistics();
+    }
 
-        StatisticsDTO stats = new StatisticsDTO();
-        stats.setTotalVotes(totalVotes);
-        stats.setTotalCandidates(results.size());
-        stats.setResults(results);
+    @Override
+    public TurnoutDTO getTurnout(BucketGranularity granularity, LocalDateTime from, LocalDateTime to,
+                                 Long candidateId) {
+        return voteBucketService.getTurnout(granularity, from, to, candidateId);
+    }
 
-        return stats;
+    private record Checkpoint(long voteId, long timeMillis) {
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,22 @@
+package evotingsystem.resultservice.services;
+
+import evotingsystem.resultservice.dtos.ResultDTO;
+import evotingsystem.resultservice.dtos.StatisticsDTO;
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Photographie immuable des résultats : réponses déjà calculées et sérialisées
+ * en JSON, avec leur ETag. Reconstruite à chaque modification des totaux et
+ * servie telle quelle aux lectures.
+ */
+@Value
+public class ResultsSnapshot {
+    List<ResultDTO> results;
+    StatisticsDTO statistics;
+    byte[] resultsJson;
+    String resultsEtag;
+    byte[] statisticsJson;
+    String statisticsEtag;
+}
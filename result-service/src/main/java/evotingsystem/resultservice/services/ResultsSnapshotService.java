@@ -0,0 +1,97 @@
+package evotingsystem.resultservice.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import evotingsystem.resultservice.dtos.ResultDTO;
+import evotingsystem.resultservice.dtos.StatisticsDTO;
+import evotingsystem.resultservice.exceptions.ServiceUnavailableException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maintient la photographie courante des résultats. Les lectures ne touchent
+ * jamais la base : elles renvoient la dernière photographie publiée, remplacée
+ * dès que les totaux en mémoire (TallyEngine) ont changé.
+ *
+ * Tant que les totaux ne sont pas chargés (aucun point de reprise avant le
+ * premier calcul ou événement VoteCast), il n'y a pas de photographie : des
+ * totaux vides seraient servis avec un ETag valide et revalidés en 304.
+ */
+@Service
+@RequiredArgsConstructor
+public class ResultsSnapshotService {
+
+    private final TallyEngine tallyEngine;
+    private final ObjectMapper objectMapper;
+
+    private volatile VersionedSnapshot current;
+
+    /**
+     * @throws ServiceUnavailableException si les totaux ne sont pas encore chargés
+     */
+    public ResultsSnapshot getSnapshot() {
+        if (!tallyEngine.isLoaded()) {
+            throw new ServiceUnavailableException("Résultats pas encore chargés : en attente du premier calcul", null);
+        }
+        VersionedSnapshot published = current;
+        if (published == null || published.version() != tallyEngine.getVersion()) {
+            return refresh();
+        }
+        return published.snapshot();
+    }
+
+    private synchronized ResultsSnapshot refresh() {
+        // Version lue avant les totaux : une mise à jour concurrente provoquera une nouvelle reconstruction
+        long version = tallyEngine.getVersion();
+        if (current == null || current.version() != version) {
+            current = new VersionedSnapshot(version, build(tallyEngine.getTotals()));
+        }
+        return current.snapshot();
+    }
+
+    private ResultsSnapshot build(Map<Long, Long> totals) {
+        long totalVotes = totals.values().stream()
+                .mapToLong(Long::longValue)
+                .sum();
+
+        List<ResultDTO> results = totals.entrySet().stream()
+                .map(e -> {
+                    ResultDTO dto = new ResultDTO();
+                    dto.setCandidateId(e.getKey());
+                    dto.setTotalVotes(e.getValue());
+                    dto.setPercentage(totalVotes > 0 ?
+                            (e.getValue() * 100.0) / totalVotes : 0.0);
+                    return dto;
+                })
+                .toList();
+
+        StatisticsDTO statistics = new StatisticsDTO();
+        statistics.setTotalVotes(totalVotes);
+        statistics.setTotalCandidates(results.size());
+        statistics.setResults(results);
+
+        byte[] resultsJson = toJson(results);
+        byte[] statisticsJson = toJson(statistics);
+        return new ResultsSnapshot(results, statistics,
+                resultsJson, etag(resultsJson), statisticsJson, etag(statisticsJson));
+    }
+
+    private byte[] toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Sérialisation des résultats impossible", e);
+        }
+    }
+
+    private static String etag(byte[] json) {
+        return "\"" + DigestUtils.md5DigestAsHex(json) + "\"";
+    }
+
+    private record VersionedSnapshot(long version, ResultsSnapshot snapshot) {
+    }
+}
@@ -0,0 +1,170 @@
+package evotingsystem.resultservice.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import evotingsystem.resultservice.dtos.ResultDTO;
+import evotingsystem.resultservice.dtos.ResultsDeltaDTO;
+import evotingsystem.resultservice.exceptions.ServiceUnavailableException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+/**
+ * Diffusion des résultats en direct (Server-Sent Events).
+ *
+ * Un seul calcul par intervalle, quel que soit le nombre d'abonnés : à chaque
+ * tick, la photographie courante est comparée à la dernière diffusée, le delta
+ * est sérialisé une fois et le même événement est écrit à tous les abonnés.
+ * Les mises à jour intervenues entre deux ticks sont fusionnées.
+ *
+ * Événements : "snapshot" (statistiques complètes, à l'abonnement) puis
+ * "delta" (ResultsDeltaDTO, totaux absolus des candidats modifiés).
+ *
+ * Les écritures vers les abonnés partent d'un thread dédié (results-stream),
+ * dans l'ordre des ticks : un client lent ne retient ni le planificateur ni
+ * l'écriture des totaux en base (flushTallies).
+ */
+@Service
+@Slf4j
+public class ResultsStreamService {
+
+    private final ResultsSnapshotService snapshotService;
+    private final ObjectMapper objectMapper;
+    private final Set<SseEmitter> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService sender = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "results-stream");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private ResultsSnapshot lastBroadcast;
+
+    public ResultsStreamService(ResultsSnapshotService snapshotService, ObjectMapper objectMapper) {
+        this.snapshotService = snapshotService;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Enregistre un abonné et lui envoie l'état de la dernière diffusion ;
+     * les deltas suivants partent de cet état.
+     *
+     * @throws ServiceUnavailableException si les totaux ne sont pas encore chargés
+     */
+    public synchronized SseEmitter subscribe() {
+        if (lastBroadcast == null) {
+            lastBroadcast = snapshotService.getSnapshot();
+        }
+
+        SseEmitter emitter = new SseEmitter(0L);
+        emitter.onCompletion(() -> subscribers.remove(emitter));
+        emitter.onTimeout(() -> subscribers.remove(emitter));
+        emitter.onError(e -> subscribers.remove(emitter));
+
+        String statistics = new String(lastBroadcast.getStatisticsJson(), StandardCharsets.UTF_8);
+        try {
+            emitter.send(SseEmitter.event().name("snapshot").data(statistics, MediaType.APPLICATION_JSON));
+        } catch (IOException e) {
+            emitter.completeWithError(e);
+            return emitter;
+        }
+        subscribers.add(emitter);
+        return emitter;
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    @PreDestroy
+    void stop() {
+        sender.shutdownNow();
+    }
+
+    @Scheduled(fixedRateString = "${result.stream.interval-ms:1000}")
+    public synchronized void broadcastChanges() {
+        ResultsSnapshot current;
+        try {
+            current = snapshotService.getSnapshot();
+        } catch (ServiceUnavailableException e) {
+            // Totaux pas encore chargés : rien à diffuser
+            return;
+        }
+        if (current == lastBroadcast) {
+            return;
+        }
+        if (subscribers.isEmpty() || lastBroadcast == null) {
+            lastBroadcast = current;
+            return;
+        }
+
+        ResultsDeltaDTO delta = delta(lastBroadcast, current);
+        lastBroadcast = current;
+        if (!delta.getChanged().isEmpty()) {
+            broadcast(SseEmitter.event().name("delta").data(toJson(delta), MediaType.APPLICATION_JSON).build());
+        }
+    }
+
+    /**
+     * Commentaire SSE périodique : maintient les connexions ouvertes à travers
+     * les proxys et détecte les abonnés déconnectés.
+     */
+    @Scheduled(fixedRateString = "${result.stream.heartbeat-ms:15000}")
+    public synchronized void heartbeat() {
+        if (!subscribers.isEmpty()) {
+            broadcast(SseEmitter.event().comment("heartbeat").build());
+        }
+    }
+
+    /**
+     * Écrit l'événement aux abonnés présents au moment du tick ; un abonné
+     * arrivé depuis a reçu une photographie au moins aussi récente.
+     */
+    private void broadcast(Set<DataWithMediaType> event) {
+        List<SseEmitter> recipients = List.copyOf(subscribers);
+        sender.execute(() -> {
+            for (SseEmitter emitter : recipients) {
+                try {
+                    emitter.send(event);
+                } catch (IOException | IllegalStateException e) {
+                    subscribers.remove(emitter);
+                    emitter.completeWithError(e);
+                }
+            }
+        });
+    }
+
+    private static ResultsDeltaDTO delta(ResultsSnapshot previous, ResultsSnapshot current) {
+        Map<Long, Long> previousTotals = previous.getResults().stream()
+                .collect(Collectors.toMap(ResultDTO::getCandidateId, ResultDTO::getTotalVotes));
+
+        List<ResultDTO> changed = current.getResults().stream()
+                .filter(r -> !Objects.equals(previousTotals.get(r.getCandidateId()), r.getTotalVotes()))
+                .toList();
+
+        return new ResultsDeltaDTO(current.getStatistics().getTotalVotes(),
+                current.getStatistics().getTotalCandidates(), changed);
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Sérialisation du delta de résultats impossible", e);
+        }
+    }
+}
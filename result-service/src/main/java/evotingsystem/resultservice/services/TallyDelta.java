@@ -0,0 +1,20 @@
+package evotingsystem.resultservice.services;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Votes comptabilisés en mémoire depuis la dernière écriture en base, par
+ * candidat et par minute, avec les identifiants des votes concernés (à
+ * enregistrer dans counted_votes) et le plus grand d'entre eux.
+ */
+public record TallyDelta(Map<Long, Long> votesByCandidate,
+                         Map<LocalDateTime, Map<Long, Long>> votesByMinute,
+                         List<Long> voteIds,
+                         long lastVoteId) {
+
+    public boolean isEmpty() {
+        return votesByCandidate.isEmpty();
+    }
+}
@@ -0,0 +1,288 @@
+package evotingsystem.resultservice.services;
+
+import evotingsystem.resultservice.entities.BucketGranularity;
+import evotingsystem.resultservice.feignclients.models.VoteDTO;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Décompte en mémoire des votes par candidat. Les votes comptabilisés
+ * incrémentent des compteurs LongAdder (une cellule par thread en cas de
+ * contention) au lieu de verrouiller la ligne results du candidat ; les
+ * totaux sont écrits en base par ResultServiceImpl.flushTallies().
+ *
+ * Deux jeux de compteurs : les totaux courants (servis par la photographie)
+ * et les votes pas encore écrits en base, échangés d'un bloc par drain().
+ * Les enregistrements de votes partagent le verrou en lecture, drain() prend
+ * le verrou en écriture le temps de l'échange : un lot de votes est
+ * entièrement dans un delta ou entièrement dans le suivant.
+ *
+ * Trous : les identifiants de vote sont attribués à l'insertion et non à la
+ * validation, un identifiant inférieur au plus grand vote compté peut donc
+ * correspondre à un vote encore en cours de validation. Les identifiants non
+ * comptés au-dessus de settledVoteId sont des trous ouverts, relus à chaque
+ * calcul ; ResultServiceImpl avance settledVoteId (settle()) une fois le délai
+ * de validation écoulé, les identifiants restés absents sont alors abandonnés.
+ */
+@Component
+public class TallyEngine {
+
+    private final ReentrantReadWriteLock drainLock = new ReentrantReadWriteLock();
+    private final ConcurrentHashMap<Long, LongAdder> totals = new ConcurrentHashMap<>();
+    private final AtomicLong lastVoteId = new AtomicLong();
+    // Tout identifiant inférieur ou égal est compté ou abandonné (jamais validé)
+    private final AtomicLong settledVoteId = new AtomicLong();
+    // Incrémenté après chaque modification des totaux
+    private final AtomicLong version = new AtomicLong();
+
+    private volatile CountedVoteIds countedVoteIds = new CountedVoteIds();
+    private volatile PendingTally pending = new PendingTally();
+    private volatile boolean loaded;
+
+    /**
+     * Initialise les totaux avec ceux de la base et les votes qu'ils comptent
+     * déjà, ignorés s'ils sont présentés de nouveau.
+     *
+     * @param lastVoteId plus grand identifiant de vote compté
+     * @param settledVoteId identifiant en deçà duquel il n'y a plus de trou ouvert
+     * @param countedRanges plages de votes comptés absentes de countedVoteIds (premier chargement)
+     */
+    public void load(Map<Long, Long> persistedTotals, long lastVoteId, long settledVoteId,
+                     List<VoteIdRange> countedRanges, Stream<Long> countedVoteIds) {
+        CountedVoteIds ids = new CountedVoteIds();
+        countedRanges.forEach(range -> ids.addRange(range.fromId(), range.toId()));
+        countedVoteIds.forEach(ids::add);
+        drainLock.writeLock().lock();
+        try {
+            totals.clear();
+            persistedTotals.forEach((candidateId, count) -> counter(totals, candidateId).add(count));
+            this.countedVoteIds = ids;
+            pending = new PendingTally();
+            this.lastVoteId.set(lastVoteId);
+            this.settledVoteId.set(settledVoteId);
+            loaded = true;
+        } finally {
+            drainLock.writeLock().unlock();
+        }
+        version.incrementAndGet();
+    }
+
+    /**
+     * Oublie les totaux et les votes comptés, y compris ceux pas encore écrits
+     * en base : le prochain appel à load() les recharge.
+     */
+    public void unload() {
+        drainLock.writeLock().lock();
+        try {
+            loaded = false;
+            totals.clear();
+            countedVoteIds = new CountedVoteIds();
+            pending = new PendingTally();
+            lastVoteId.set(0L);
+            settledVoteId.set(0L);
+        } finally {
+            drainLock.writeLock().unlock();
+        }
+        version.incrementAndGet();
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    // Identifiant du plus grand vote comptabilisé (des votes d'identifiant inférieur peuvent ne pas l'être)
+    public long getLastVoteId() {
+        return lastVoteId.get();
+    }
+
+    public long getSettledVoteId() {
+        return settledVoteId.get();
+    }
+
+    /**
+     * Trous ouverts : identifiants non comptés entre settledVoteId et le plus
+     * grand vote compté, en au plus maxRanges plages. Au-delà, les trous
+     * séparés par le moins de votes déjà comptés sont regroupés.
+     */
+    public List<VoteIdRange> openGaps(int maxRanges) {
+        return merge(countedVoteIds.missingRanges(settledVoteId.get(), lastVoteId.get()), maxRanges);
+    }
+
+    /**
+     * Identifiants abandonnés : non comptés jusqu'à settledVoteId, en au plus
+     * maxRanges plages regroupées comme pour openGaps().
+     */
+    public List<VoteIdRange> abandonedGaps(int maxRanges) {
+        return merge(countedVoteIds.missingRanges(0L, settledVoteId.get()), maxRanges);
+    }
+
+    private static List<VoteIdRange> merge(List<VoteIdRange> gaps, int maxRanges) {
+        if (gaps.size() <= maxRanges) {
+            return gaps;
+        }
+        // Écarts entre trous consécutifs, les plus petits sont fusionnés
+        int merges = gaps.size() - maxRanges;
+        List<Integer> separations = new ArrayList<>(gaps.size() - 1);
+        for (int i = 0; i < gaps.size() - 1; i++) {
+            separations.add(i);
+        }
+        separations.sort(Comparator.comparingLong(i -> gaps.get(i + 1).fromId() - gaps.get(i).toId()));
+        boolean[] merged = new boolean[gaps.size() - 1];
+        separations.subList(0, merges).forEach(i -> merged[i] = true);
+
+        List<VoteIdRange> ranges = new ArrayList<>(maxRanges);
+        long from = gaps.get(0).fromId();
+        for (int i = 0; i < gaps.size() - 1; i++) {
+            if (!merged[i]) {
+                ranges.add(new VoteIdRange(from, gaps.get(i).toId()));
+                from = gaps.get(i + 1).fromId();
+            }
+        }
+        ranges.add(new VoteIdRange(from, gaps.get(gaps.size() - 1).toId()));
+        return ranges;
+    }
+
+    /**
+     * Clôt les trous jusqu'à voteId : les identifiants encore absents sont
+     * abandonnés. Un vote abandonné reçu plus tard reste compté.
+     *
+     * @return nombre d'identifiants abandonnés
+     */
+    public long settle(long voteId) {
+        long previous = settledVoteId.getAndAccumulate(voteId, Math::max);
+        if (voteId <= previous) {
+            return 0;
+        }
+        return countedVoteIds.missingRanges(previous, voteId).stream()
+                .mapToLong(VoteIdRange::size)
+                .sum();
+    }
+
+    public long getVersion() {
+        return version.get();
+    }
+
+    /**
+     * Comptabilise les votes pas encore comptés, chacun une seule fois même si
+     * plusieurs threads reçoivent le même vote.
+     *
+     * @return nombre de votes comptabilisés
+     */
+    public int record(Iterable<VoteDTO> votes) {
+        int counted = 0;
+        drainLock.readLock().lock();
+        try {
+            PendingTally current = pending;
+            CountedVoteIds ids = countedVoteIds;
+            for (VoteDTO vote : votes) {
+                if (!ids.add(vote.getIdVote())) {
+                    continue;
+                }
+                counter(totals, vote.getCandidateId()).increment();
+                current.add(vote);
+                lastVoteId.accumulateAndGet(vote.getIdVote(), Math::max);
+                counted++;
+            }
+        } finally {
+            drainLock.readLock().unlock();
+        }
+        if (counted > 0) {
+            version.incrementAndGet();
+        }
+        return counted;
+    }
+
+    /**
+     * Retire les votes comptabilisés depuis le dernier appel, à écrire en base.
+     */
+    public TallyDelta drain() {
+        PendingTally drained;
+        drainLock.writeLock().lock();
+        try {
+            drained = pending;
+            pending = new PendingTally();
+        } finally {
+            drainLock.writeLock().unlock();
+        }
+        return drained.toDelta();
+    }
+
+    /**
+     * Remet un delta qui n'a pas pu être écrit en base, pour la prochaine écriture.
+     */
+    public void restore(TallyDelta delta) {
+        drainLock.readLock().lock();
+        try {
+            pending.add(delta);
+        } finally {
+            drainLock.readLock().unlock();
+        }
+    }
+
+    // Totaux courants par candidat, triés par identifiant de candidat
+    public Map<Long, Long> getTotals() {
+        Map<Long, Long> snapshot = new TreeMap<>();
+        totals.forEach((candidateId, count) -> snapshot.put(candidateId, count.sum()));
+        return snapshot;
+    }
+
+    private static <K> LongAdder counter(ConcurrentHashMap<K, LongAdder> counters, K key) {
+        // get() d'abord : computeIfAbsent verrouille le compartiment même si la clé existe
+        LongAdder counter = counters.get(key);
+        return counter != null ? counter : counters.computeIfAbsent(key, k -> new LongAdder());
+    }
+
+    private static final class PendingTally {
+
+        private final ConcurrentHashMap<Long, LongAdder> byCandidate = new ConcurrentHashMap<>();
+        private final ConcurrentHashMap<LocalDateTime, ConcurrentHashMap<Long, LongAdder>> byMinute =
+                new ConcurrentHashMap<>();
+        private final ConcurrentLinkedQueue<Long> voteIds = new ConcurrentLinkedQueue<>();
+        private final AtomicLong lastVoteId = new AtomicLong();
+
+        void add(VoteDTO vote) {
+            counter(byCandidate, vote.getCandidateId()).increment();
+            LocalDateTime minute = BucketGranularity.MINUTE.truncate(vote.getDateHeure());
+            counter(byMinute.computeIfAbsent(minute, m -> new ConcurrentHashMap<>()), vote.getCandidateId())
+                    .increment();
+            voteIds.add(vote.getIdVote());
+            lastVoteId.accumulateAndGet(vote.getIdVote(), Math::max);
+        }
+
+        void add(TallyDelta delta) {
+            delta.votesByCandidate().forEach((candidateId, count) -> counter(byCandidate, candidateId).add(count));
+            delta.votesByMinute().forEach((minute, byCandidate) -> byCandidate.forEach((candidateId, count) ->
+                    counter(byMinute.computeIfAbsent(minute, m -> new ConcurrentHashMap<>()), candidateId)
+                            .add(count)));
+            voteIds.addAll(delta.voteIds());
+            lastVoteId.accumulateAndGet(delta.lastVoteId(), Math::max);
+        }
+
+        // Appelé après l'échange : plus aucun thread n'incrémente ces compteurs
+        TallyDelta toDelta() {
+            Map<Long, Long> votesByCandidate = new HashMap<>();
+            byCandidate.forEach((candidateId, count) -> votesByCandidate.put(candidateId, count.sum()));
+
+            Map<LocalDateTime, Map<Long, Long>> votesByMinute = new HashMap<>();
+            byMinute.forEach((minute, counts) -> {
+                Map<Long, Long> byCandidateInMinute = new HashMap<>();
+                counts.forEach((candidateId, count) -> byCandidateInMinute.put(candidateId, count.sum()));
+                votesByMinute.put(minute, byCandidateInMinute);
+            });
+            return new TallyDelta(votesByCandidate, votesByMinute, List.copyOf(voteIds), lastVoteId.get());
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package evotingsystem.resultservice.services;
+
+import evotingsystem.resultservice.dtos.TurnoutDTO;
+import evotingsystem.resultservice.dtos.TurnoutPointDTO;
+import evotingsystem.resultservice.entities.BucketGranularity;
+import evotingsystem.resultservice.entities.VoteBucket;
+import evotingsystem.resultservice.feignclients.VoteClient;
+import evotingsystem.resultservice.feignclients.models.MinuteVoteCountDTO;
+import evotingsystem.resultservice.feignclients.models.VoteDTO;
+import evotingsystem.resultservice.repositories.VoteBucketRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Décomptes de votes par minute et par heure, par candidat. Alimentés au fil
+ * des votes comptabilisés par ResultServiceImpl (sous le verrou du point de
+ * reprise), ou reconstruits sur une plage à partir de vote-service.
+ */
+@Service
+@RequiredArgsConstructor
+public class VoteBucketService {
+
+    private final VoteBucketRepository voteBucketRepository;
+    private final VoteClient voteClient;
+
+    /**
+     * Ajoute les nouveaux votes, regroupés par minute puis par candidat, aux
+     * intervalles minute et heure correspondants.
+     */
+    @Transactional
+    public void add(Map<LocalDateTime, Map<Long, Long>> votesByMinute) {
+        Map<LocalDateTime, Map<Long, Long>> votesByHour = new HashMap<>();
+        votesByMinute.forEach((minute, byCandidate) -> byCandidate.forEach((candidateId, count) ->
+                votesByHour.computeIfAbsent(BucketGranularity.HOUR.truncate(minute), h -> new HashMap<>())
+                        .merge(candidateId, count, Long::sum)));
+
+        increment(BucketGranularity.MINUTE, votesByMinute);
+        increment(BucketGranularity.HOUR, votesByHour);
+    }
+
+    /**
+     * Reconstruit les intervalles de [from, to) (élargie aux heures entières)
+     * avec l'agrégat de vote-service des votes d'identifiant inférieur ou égal
+     * à maxVoteId, tous comptabilisés, et les votes comptabilisés d'identifiant
+     * supérieur (countedVotes), seuls repris au-delà : un vote pas encore compté
+     * n'y figure pas, il sera ajouté une seule fois quand il le sera.
+     * Bornes nulles : toute l'élection.
+     */
+    @Transactional
+    public void backfill(LocalDateTime from, LocalDateTime to, Long maxVoteId, List<VoteDTO> countedVotes) {
+        LocalDateTime start = from != null ? BucketGranularity.HOUR.truncate(from) : null;
+        LocalDateTime end = to != null ? BucketGranularity.HOUR.ceil(to) : null;
+
+        voteBucketRepository.deleteRange(start, end);
+
+        // Agrégat minute par minute calculé par vote-service sur idx_date_heure
+        Map<BucketKey, Long> counts = new HashMap<>();
+        for (MinuteVoteCountDTO count : voteClient.getVoteCountsPerMinute(start, end, maxVoteId)) {
+            counts.merge(new BucketKey(BucketGranularity.MINUTE, count.getMinute(), count.getCandidateId()),
+                    count.getTotalVotes(), Long::sum);
+            counts.merge(new BucketKey(BucketGranularity.HOUR, BucketGranularity.HOUR.truncate(count.getMinute()),
+                    count.getCandidateId()), count.getTotalVotes(), Long::sum);
+        }
+        for (VoteDTO vote : countedVotes) {
+            LocalDateTime at = vote.getDateHeure();
+            if ((start != null && at.isBefore(start)) || (end != null && !at.isBefore(end))) {
+                continue;
+            }
+            for (BucketGranularity granularity : BucketGranularity.values()) {
+                counts.merge(new BucketKey(granularity, granularity.truncate(at), vote.getCandidateId()), 1L, Long::sum);
+            }
+        }
+
+        List<VoteBucket> buckets = new ArrayList<>(counts.size());
+        counts.forEach((key, count) ->
+                buckets.add(new VoteBucket(null, key.granularity(), key.bucketStart(), key.candidateId(), count)));
+        voteBucketRepository.saveAll(buckets);
+    }
+
+    /**
+     * Supprime tous les intervalles, avant un nouveau décompte complet.
+     */
+    @Transactional
+    public void clear() {
+        voteBucketRepository.deleteRange(null, null);
+    }
+
+    @Transactional(readOnly = true)
+    public TurnoutDTO getTurnout(BucketGranularity granularity, LocalDateTime from, LocalDateTime to,
+                                 Long candidateId) {
+        long cumulative = from != null ? voteBucketRepository.sumBefore(granularity, from, candidateId) : 0L;
+
+        Map<LocalDateTime, Map<Long, Long>> byBucket = new LinkedHashMap<>();
+        for (VoteBucket bucket : voteBucketRepository.findRange(granularity, from, to, candidateId)) {
+            byBucket.computeIfAbsent(bucket.getBucketStart(), b -> new TreeMap<>())
+                    .put(bucket.getCandidateId(), bucket.getVoteCount());
+        }
+
+        List<TurnoutPointDTO> points = new ArrayList<>(byBucket.size());
+        for (Map.Entry<LocalDateTime, Map<Long, Long>> entry : byBucket.entrySet()) {
+            long votes = entry.getValue().values().stream().mapToLong(Long::longValue).sum();
+            cumulative += votes;
+            points.add(new TurnoutPointDTO(entry.getKey(), votes, cumulative, entry.getValue()));
+        }
+
+        return new TurnoutDTO(granularity, from, to, candidateId, points);
+    }
+
+    private void increment(BucketGranularity granularity, Map<LocalDateTime, Map<Long, Long>> votes) {
+        votes.forEach((bucketStart, byCandidate) -> byCandidate.forEach((candidateId, count) -> {
+            VoteBucket bucket = voteBucketRepository
+                    .findByGranularityAndBucketStartAndCandidateId(granularity, bucketStart, candidateId)
+                    .orElseGet(() -> new VoteBucket(null, granularity, bucketStart, candidateId, 0L));
+
+            bucket.setVoteCount(bucket.getVoteCount() + count);
+            voteBucketRepository.save(bucket);
+        }));
+    }
+
+    private record BucketKey(BucketGranularity granularity, LocalDateTime bucketStart, Long candidateId) {
+    }
+}
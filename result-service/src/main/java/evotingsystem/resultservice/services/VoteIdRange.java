@@ -0,0 +1,11 @@
+package evotingsystem.resultservice.services;
+
+/**
+ * Plage d'identifiants de vote [fromId, toId], bornes incluses.
+ */
+public record VoteIdRange(long fromId, long toId) {
+
+    public long size() {
+        return toId - fromId + 1;
+    }
+}
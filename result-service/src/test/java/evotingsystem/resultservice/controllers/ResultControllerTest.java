@@ -0,0 +1,119 @@
+package evotingsystem.resultservice.controllers;
+
+import evotingsystem.resultservice.exceptions.ServiceUnavailableException;
+import evotingsystem.resultservice.feignclients.VoteClient;
+import evotingsystem.resultservice.feignclients.models.VoteCountSnapshotDTO;
+import evotingsystem.resultservice.feignclients.models.VoteDTO;
+import evotingsystem.resultservice.services.ResultService;
+import evotingsystem.resultservice.services.TallyEngine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static evotingsystem.resultservice.feignclients.NdjsonResponses.ndjson;
+import static evotingsystem.resultservice.feignclients.NdjsonResponses.response;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ResultControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ResultService resultService;
+
+    @Autowired
+    private TallyEngine tallyEngine;
+
+    @MockBean
+    private VoteClient voteClient;
+
+    @BeforeEach
+    void setUp() {
+        // Premier décompte : décomptes de vote-service, sans vote
+        when(voteClient.getVoteCountSnapshot()).thenReturn(new VoteCountSnapshotDTO(0L, List.of(), List.of(), List.of()));
+        when(voteClient.streamVotes(anyLong(), any())).thenAnswer(invocation -> ndjson(""));
+        // Totaux chargés : les lectures sont servies depuis la photographie
+        resultService.calculateResults();
+    }
+
+    @Test
+    void readsReturn503UntilTheTalliesAreLoaded() throws Exception {
+        tallyEngine.unload();
+
+        mockMvc.perform(get("/api/results"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG));
+        mockMvc.perform(get("/api/results/statistics"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG));
+        mockMvc.perform(get("/api/results/stream"))
+                .andExpect(status().isServiceUnavailable());
+
+        resultService.calculateResults();
+        mockMvc.perform(get("/api/results"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void unchangedResultsAreRevalidatedWithNotModified() throws Exception {
+        String etag = mockMvc.perform(get("/api/results/statistics"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(jsonPath("$.totalCandidates").isNumber())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/results/statistics").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void appliedVotesPublishANewSnapshot() throws Exception {
+        String etag = mockMvc.perform(get("/api/results"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        resultService.applyVotes(List.of(new VoteDTO(1_000L, LocalDateTime.now(), 1_000L, 42L)));
+
+        String newEtag = mockMvc.perform(get("/api/results").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.candidateId == 42)].totalVotes").value(1))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(etag, newEtag);
+    }
+
+    @Test
+    void calculateReturns503WhenVoteServiceIsUnavailable() throws Exception {
+        when(voteClient.streamVotes(anyLong(), any()))
+                .thenThrow(new ServiceUnavailableException("vote-service indisponible : circuit ouvert", null));
+
+        mockMvc.perform(post("/api/results/calculate"))
+                .andExpect(status().isServiceUnavailable());
+    }
+
+    @Test
+    void calculateReturns503WhenVoteStreamAnswersWithAnError() throws Exception {
+        when(voteClient.streamVotes(anyLong(), any())).thenAnswer(invocation -> response(500, "{\"error\":\"boom\"}"));
+
+        mockMvc.perform(post("/api/results/calculate"))
+                .andExpect(status().isServiceUnavailable());
+    }
+}
@@ -0,0 +1,29 @@
+package evotingsystem.resultservice.feignclients;
+
+import feign.Request;
+import feign.Response;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * Réponses de VoteClient.streamVotes pour les tests.
+ */
+public final class NdjsonResponses {
+
+    private NdjsonResponses() {
+    }
+
+    public static Response ndjson(String body) {
+        return response(200, body);
+    }
+
+    public static Response response(int status, String body) {
+        return Response.builder()
+                .status(status)
+                .request(Request.create(Request.HttpMethod.GET, "/api/votes/stream", Map.of(), null,
+                        StandardCharsets.UTF_8, null))
+                .body(body, StandardCharsets.UTF_8)
+                .build();
+    }
+}
@@ -0,0 +1,155 @@
+package evotingsystem.resultservice.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import evotingsystem.resultservice.feignclients.VoteClient;
+import evotingsystem.resultservice.feignclients.models.CandidateVoteCountDTO;
+import evotingsystem.resultservice.feignclients.models.MinuteVoteCountDTO;
+import evotingsystem.resultservice.feignclients.models.VoteCountSnapshotDTO;
+import evotingsystem.resultservice.feignclients.models.VoteDTO;
+import evotingsystem.resultservice.feignclients.models.VoteIdRangeDTO;
+import evotingsystem.resultservice.repositories.CountedVoteRepository;
+import evotingsystem.resultservice.repositories.TallyWatermarkRepository;
+import feign.Response;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static evotingsystem.resultservice.feignclients.NdjsonResponses.ndjson;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+class ResultServiceImplTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2030, 6, 2, 9, 0);
+
+    @Autowired
+    private ResultServiceImpl resultService;
+
+    @Autowired
+    private TallyEngine tallyEngine;
+
+    @Autowired
+    private CountedVoteRepository countedVoteRepository;
+
+    @Autowired
+    private TallyWatermarkRepository watermarkRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    private VoteClient voteClient;
+
+    @BeforeEach
+    void setUp() {
+        when(voteClient.getVoteCountSnapshot()).thenReturn(new VoteCountSnapshotDTO(0L, List.of(), List.of(), List.of()));
+        when(voteClient.streamVotes(anyLong(), any())).thenAnswer(invocation -> ndjson(""));
+    }
+
+    @Test
+    void firstLoadIsSeededFromVoteServiceCountsWithoutReadingEveryVote() {
+        watermarkRepository.deleteAll();
+        tallyEngine.unload();
+        // Identifiants 1 à 60 010, dont 60 005 sans vote (insertion en cours ou annulée)
+        when(voteClient.getVoteCountSnapshot()).thenReturn(new VoteCountSnapshotDTO(60_010L,
+                List.of(new CandidateVoteCountDTO(9L, 60_009L, 60_010L)),
+                List.of(new MinuteVoteCountDTO(9L, T0, 60_009L)),
+                List.of(new VoteIdRangeDTO(60_005L, 60_005L))));
+        try {
+            resultService.calculateResults();
+            assertEquals(60_009L, tallyEngine.getTotals().get(9L));
+            // Seuls le trou et les nouveaux votes sont relus
+            verify(voteClient).streamVotes(60_004L, 60_005L);
+            verify(voteClient).streamVotes(60_010L, null);
+            verify(voteClient, times(2)).streamVotes(anyLong(), any());
+
+            // Après redémarrage, les votes des décomptes sont ignorés, celui du trou est compté une fois
+            tallyEngine.unload();
+            resultService.loadTallies();
+            resultService.applyVotes(List.of(new VoteDTO(60_003L, T0, 60_003L, 9L), new VoteDTO(60_005L, T0, 60_005L, 9L)));
+            tallyEngine.unload();
+            resultService.loadTallies();
+            resultService.applyVotes(List.of(new VoteDTO(60_005L, T0, 60_005L, 9L)));
+            assertEquals(60_010L, tallyEngine.getTotals().get(9L));
+        } finally {
+            // Les autres tests repartent d'un premier chargement sans vote
+            watermarkRepository.deleteAll();
+            tallyEngine.unload();
+        }
+    }
+
+    @Test
+    void voteCommittedAfterAHigherIdIsCountedOnceAcrossRestarts() {
+        // Le vote 20 100 est écrit en base avant le vote 20 090, validé plus tard par vote-service
+        resultService.applyVotes(List.of(new VoteDTO(20_100L, T0, 20_100L, 7L)));
+        resultService.applyVotes(List.of(new VoteDTO(20_090L, T0, 20_090L, 7L)));
+        assertTrue(countedVoteRepository.existsById(20_090L));
+
+        // Redémarrage : les événements renvoyés par l'outbox et les votes relus ne sont pas recomptés
+        tallyEngine.unload();
+        resultService.loadTallies();
+        when(voteClient.streamVotes(anyLong(), any())).thenAnswer(invocation -> ndjson(
+                "{\"idVote\":20090,\"dateHeure\":\"2030-06-02T09:00:00\",\"electorId\":20090,\"candidateId\":7}\n"
+                        + "{\"idVote\":20095,\"dateHeure\":\"2030-06-02T09:00:00\",\"electorId\":20095,\"candidateId\":7}\n"));
+        resultService.applyVotes(List.of(new VoteDTO(20_090L, T0, 20_090L, 7L), new VoteDTO(20_100L, T0, 20_100L, 7L)));
+        resultService.calculateResults();
+
+        assertEquals(3L, tallyEngine.getTotals().get(7L));
+        tallyEngine.unload();
+        resultService.loadTallies();
+        assertEquals(3L, tallyEngine.getTotals().get(7L));
+    }
+
+    @Test
+    void lateCommitFarBelowTheLastCountedVoteIsPolledUntilItsGapIsSettled() throws Exception {
+        List<VoteDTO> committed = new CopyOnWriteArrayList<>();
+        when(voteClient.streamVotes(anyLong(), any())).thenAnswer(invocation ->
+                votesBetween(committed, invocation.getArgument(0), invocation.getArgument(1)));
+        committed.add(new VoteDTO(42_500L, T0, 42_500L, 8L));
+        resultService.calculateResults();
+
+        // Validé après le vote 42 500, 2 500 identifiants plus bas
+        committed.add(new VoteDTO(40_000L, T0, 40_000L, 8L));
+        resultService.calculateResults();
+        assertEquals(2L, tallyEngine.getTotals().get(8L));
+
+        // Délai de validation écoulé : les trous restants sont abandonnés
+        ReflectionTestUtils.setField(resultService, "gapTimeoutMs", 0L);
+        try {
+            resultService.calculateResults();
+        } finally {
+            ReflectionTestUtils.setField(resultService, "gapTimeoutMs", 60_000L);
+        }
+        assertTrue(tallyEngine.getSettledVoteId() >= 42_500L);
+
+        // Seuls les nouveaux votes sont encore relus
+        clearInvocations(voteClient);
+        resultService.calculateResults();
+        verify(voteClient).streamVotes(anyLong(), any());
+        verify(voteClient).streamVotes(tallyEngine.getLastVoteId(), null);
+    }
+
+    private Response votesBetween(List<VoteDTO> votes, long afterId, Long maxId) throws JsonProcessingException {
+        StringBuilder body = new StringBuilder();
+        for (VoteDTO vote : votes) {
+            if (vote.getIdVote() > afterId && (maxId == null || vote.getIdVote() <= maxId)) {
+                body.append(objectMapper.writeValueAsString(vote)).append('\n');
+            }
+        }
+        return ndjson(body.toString());
+    }
+}
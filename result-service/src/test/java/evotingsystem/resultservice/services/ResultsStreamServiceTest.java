@@ -0,0 +1,68 @@
+package evotingsystem.resultservice.services;
+
+import evotingsystem.resultservice.feignclients.VoteClient;
+import evotingsystem.resultservice.feignclients.models.VoteCountSnapshotDTO;
+import evotingsystem.resultservice.feignclients.models.VoteDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static evotingsystem.resultservice.feignclients.NdjsonResponses.ndjson;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class ResultsStreamServiceTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ResultService resultService;
+
+    @Autowired
+    private ResultsStreamService streamService;
+
+    @MockBean
+    private VoteClient voteClient;
+
+    @Test
+    void updatesBetweenTwoTicksAreCoalescedIntoOneDelta() throws Exception {
+        when(voteClient.getVoteCountSnapshot()).thenReturn(new VoteCountSnapshotDTO(0L, List.of(), List.of(), List.of()));
+        when(voteClient.streamVotes(anyLong(), any())).thenAnswer(invocation -> ndjson(""));
+        resultService.calculateResults();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/results/stream"))
+                .header("Accept", "text/event-stream")
+                .build();
+        HttpResponse<InputStream> response = HttpClient.newHttpClient()
+                .send(request, HttpResponse.BodyHandlers.ofInputStream());
+
+        try (BufferedReader events = new BufferedReader(new InputStreamReader(response.body()))) {
+            assertEquals("event:snapshot", events.readLine());
+            assertTrue(events.readLine().startsWith("data:{\"totalVotes\""));
+            assertEquals("", events.readLine());
+
+            resultService.applyVotes(List.of(new VoteDTO(5_001L, LocalDateTime.now(), 5_001L, 77L)));
+            resultService.applyVotes(List.of(new VoteDTO(5_002L, LocalDateTime.now(), 5_002L, 77L)));
+            streamService.broadcastChanges();
+
+            assertEquals("event:delta", events.readLine());
+            String delta = events.readLine();
+            assertTrue(delta.contains("{\"candidateId\":77,\"candidateName\":null,\"totalVotes\":2"), delta);
+        }
+    }
+}
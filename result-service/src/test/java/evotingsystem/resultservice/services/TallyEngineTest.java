@@ -0,0 +1,146 @@
+package evotingsystem.resultservice.services;
+
+import evotingsystem.resultservice.feignclients.models.VoteDTO;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TallyEngineTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2030, 6, 1, 9, 0);
+
+    @Test
+    void concurrentIncrementsAndDrainsLoseNoVote() throws Exception {
+        TallyEngine engine = new TallyEngine();
+        engine.load(Map.of(1L, 100L), 1_000L, 1_000L, List.of(), Stream.empty());
+
+        // 200 000 votes répartis sur 4 candidats, dont la moitié pour le candidat 1 (contention maximale)
+        int voteCount = 200_000;
+        List<VoteDTO> votes = new ArrayList<>(voteCount);
+        Map<Long, Long> expected = new HashMap<>(Map.of(1L, 100L));
+        for (long i = 1; i <= voteCount; i++) {
+            long candidateId = i % 2 == 0 ? 1L : 2L + i % 3;
+            votes.add(new VoteDTO(1_000L + i, T0.plusSeconds(i % 600), i, candidateId));
+            expected.merge(candidateId, 1L, Long::sum);
+        }
+
+        // Chaque thread reçoit tous les votes, dans un ordre différent et par lots : chaque vote
+        // est présenté 8 fois, comme un événement VoteCast rejoué pendant un calcul complet
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads + 1);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> recorders = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            List<VoteDTO> shuffled = new ArrayList<>(votes);
+            Collections.shuffle(shuffled, new Random(t));
+            recorders.add(executor.submit(() -> {
+                start.await();
+                int counted = 0;
+                for (int from = 0; from < shuffled.size(); from += 500) {
+                    counted += engine.record(shuffled.subList(from, Math.min(from + 500, shuffled.size())));
+                }
+                return counted;
+            }));
+        }
+
+        // Écritures en base simulées pendant les enregistrements
+        AtomicBoolean recording = new AtomicBoolean(true);
+        List<TallyDelta> drained = Collections.synchronizedList(new ArrayList<>());
+        Future<?> drainer = executor.submit(() -> {
+            start.await();
+            while (recording.get()) {
+                drained.add(engine.drain());
+                Thread.sleep(1);
+            }
+            return null;
+        });
+
+        start.countDown();
+        int counted = 0;
+        for (Future<Integer> recorder : recorders) {
+            counted += recorder.get();
+        }
+        recording.set(false);
+        drainer.get();
+        drained.add(engine.drain());
+        executor.shutdown();
+
+        assertEquals(voteCount, counted);
+        assertEquals(expected, engine.getTotals());
+        assertEquals(1_000L + voteCount, engine.getLastVoteId());
+
+        // Chaque vote figure dans exactement un delta, par candidat comme par minute
+        Map<Long, Long> flushed = new HashMap<>(Map.of(1L, 100L));
+        long flushedByMinute = 0;
+        for (TallyDelta delta : drained) {
+            delta.votesByCandidate().forEach((candidateId, count) -> flushed.merge(candidateId, count, Long::sum));
+            flushedByMinute += delta.votesByMinute().values().stream()
+                    .flatMap(byCandidate -> byCandidate.values().stream())
+                    .mapToLong(Long::longValue)
+                    .sum();
+        }
+        assertEquals(expected, flushed);
+        assertEquals(voteCount, flushedByMinute);
+    }
+
+    @Test
+    void restoredDeltaIsFlushedAgainAndOnlyCountedVotesAreIgnored() {
+        TallyEngine engine = new TallyEngine();
+        // Votes 10 et 12 déjà écrits en base, 11 validé plus tard par vote-service
+        engine.load(Map.of(1L, 2L), 12L, 0L, List.of(), Stream.of(10L, 12L));
+
+        assertEquals(1, engine.record(List.of(
+                new VoteDTO(10L, T0, 10L, 1L),
+                new VoteDTO(11L, T0, 11L, 1L),
+                new VoteDTO(11L, T0, 11L, 1L),
+                new VoteDTO(12L, T0, 12L, 1L))));
+
+        TallyDelta failed = engine.drain();
+        engine.record(List.of(new VoteDTO(13L, T0.plusMinutes(1), 13L, 2L)));
+        engine.restore(failed);
+
+        TallyDelta retried = engine.drain();
+        assertEquals(Map.of(1L, 1L, 2L, 1L), retried.votesByCandidate());
+        assertEquals(Map.of(T0, Map.of(1L, 1L), T0.plusMinutes(1), Map.of(2L, 1L)), retried.votesByMinute());
+        assertEquals(List.of(11L, 13L), retried.voteIds().stream().sorted().toList());
+        assertEquals(13L, retried.lastVoteId());
+        assertTrue(engine.drain().isEmpty());
+        assertEquals(Map.of(1L, 3L, 2L, 1L), engine.getTotals());
+    }
+
+    @Test
+    void openGapsAreMergedAndSettledGapsAreAbandoned() {
+        TallyEngine engine = new TallyEngine();
+        // Votes 1 à 200 comptés, sauf 5, 6, 70 et 150 à 199
+        engine.load(Map.of(), 200L, 0L, List.of(), LongStream.rangeClosed(1, 200)
+                .filter(id -> id != 5 && id != 6 && id != 70 && (id < 150 || id > 199))
+                .boxed());
+
+        assertEquals(List.of(new VoteIdRange(5, 6), new VoteIdRange(70, 70), new VoteIdRange(150, 199)),
+                engine.openGaps(8));
+        // 63 votes comptés entre 6 et 70, 79 entre 70 et 150 : les deux premiers trous sont regroupés
+        assertEquals(List.of(new VoteIdRange(5, 70), new VoteIdRange(150, 199)), engine.openGaps(2));
+
+        engine.record(List.of(new VoteDTO(70L, T0, 70L, 1L)));
+        assertEquals(2L, engine.settle(100L));
+        assertEquals(0L, engine.settle(90L));
+        assertEquals(List.of(new VoteIdRange(150, 199)), engine.openGaps(8));
+        // Un vote abandonné reçu plus tard reste compté
+        assertEquals(1, engine.record(List.of(new VoteDTO(5L, T0, 5L, 1L))));
+    }
+}
@@ -0,0 +1,121 @@
+package evotingsystem.resultservice.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import evotingsystem.resultservice.dtos.TurnoutDTO;
+import evotingsystem.resultservice.entities.BucketGranularity;
+import evotingsystem.resultservice.feignclients.VoteClient;
+import evotingsystem.resultservice.feignclients.models.MinuteVoteCountDTO;
+import evotingsystem.resultservice.feignclients.models.VoteCountSnapshotDTO;
+import evotingsystem.resultservice.feignclients.models.VoteDTO;
+import evotingsystem.resultservice.repositories.CountedVoteRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static evotingsystem.resultservice.feignclients.NdjsonResponses.ndjson;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+class VoteBucketServiceTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2030, 6, 1, 9, 0);
+
+    @Autowired
+    private ResultService resultService;
+
+    @Autowired
+    private CountedVoteRepository countedVoteRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    private VoteClient voteClient;
+
+    @BeforeEach
+    void setUp() {
+        // Premier décompte : décomptes de vote-service, sans vote
+        when(voteClient.getVoteCountSnapshot()).thenReturn(new VoteCountSnapshotDTO(0L, List.of(), List.of(), List.of()));
+        when(voteClient.streamVotes(anyLong(), any())).thenAnswer(invocation -> ndjson(""));
+    }
+
+    @Test
+    void appliedVotesAreCountedPerMinuteAndPerHour() {
+        resultService.applyVotes(List.of(
+                new VoteDTO(10_001L, T0.plusSeconds(5), 10_001L, 1L),
+                new VoteDTO(10_002L, T0.plusSeconds(50), 10_002L, 2L),
+                new VoteDTO(10_003L, T0.plusMinutes(2).plusSeconds(1), 10_003L, 1L)));
+        resultService.flushTallies();
+
+        TurnoutDTO perMinute = resultService.getTurnout(BucketGranularity.MINUTE, T0, T0.plusHours(1), null);
+        assertEquals(2, perMinute.getPoints().size());
+        assertEquals(T0, perMinute.getPoints().get(0).getBucketStart());
+        assertEquals(2L, perMinute.getPoints().get(0).getVotes());
+        assertEquals(3L, perMinute.getPoints().get(1).getCumulativeVotes());
+
+        TurnoutDTO perHour = resultService.getTurnout(BucketGranularity.HOUR, T0, T0.plusHours(1), 1L);
+        assertEquals(1, perHour.getPoints().size());
+        assertEquals(2L, perHour.getPoints().get(0).getVotes());
+    }
+
+    @Test
+    void backfillReplacesTheRangeWithVoteServiceCounts() {
+        LocalDateTime t1 = T0.plusDays(1);
+        when(voteClient.getVoteCountsPerMinute(eq(t1), eq(t1.plusHours(1)), any()))
+                .thenReturn(List.of(new MinuteVoteCountDTO(3L, t1.plusMinutes(15), 7L)));
+
+        resultService.backfillTurnout(t1.plusMinutes(10), t1.plusMinutes(20));
+
+        TurnoutDTO turnout = resultService.getTurnout(BucketGranularity.MINUTE, t1, t1.plusHours(1), null);
+        assertEquals(1, turnout.getPoints().size());
+        assertEquals(7L, turnout.getPoints().get(0).getVotesByCandidate().get(3L));
+    }
+
+    @Test
+    void backfillLeavesVotesNotCountedYetToTheirOwnTally() throws Exception {
+        LocalDateTime t2 = T0.plusDays(2);
+        VoteDTO counted = new VoteDTO(10_010L, t2.plusMinutes(1), 10_010L, 4L);
+        // Validé avant 10 010 côté vote-service, mais pas encore compté
+        VoteDTO late = new VoteDTO(10_009L, t2.plusMinutes(1).plusSeconds(30), 10_009L, 4L);
+        List<VoteDTO> committed = List.of(late, counted);
+        resultService.applyVotes(List.of(counted));
+        when(voteClient.streamVotes(anyLong(), any())).thenAnswer(invocation -> {
+            long afterId = invocation.getArgument(0);
+            Long maxId = invocation.getArgument(1);
+            StringBuilder body = new StringBuilder();
+            for (VoteDTO vote : committed) {
+                if (vote.getIdVote() > afterId && (maxId == null || vote.getIdVote() <= maxId)) {
+                    body.append(objectMapper.writeValueAsString(vote)).append('\n');
+                }
+            }
+            return ndjson(body.toString());
+        });
+        when(voteClient.getVoteCountsPerMinute(eq(t2), eq(t2.plusHours(1)), any())).thenAnswer(invocation -> {
+            Long maxId = invocation.getArgument(2);
+            long total = committed.stream().filter(vote -> vote.getIdVote() <= maxId).count();
+            return total == 0 ? List.of() : List.of(new MinuteVoteCountDTO(4L, t2.plusMinutes(1), total));
+        });
+
+        resultService.backfillTurnout(t2, t2.plusHours(1));
+        // 10 009 n'est repris que s'il a été compté (identifiant abandonné relu avant l'agrégat)
+        long expected = countedVoteRepository.existsById(10_009L) ? 2L : 1L;
+        assertEquals(expected, votesAt(t2.plusMinutes(1)));
+
+        resultService.applyVotes(List.of(late));
+        assertEquals(2L, votesAt(t2.plusMinutes(1)));
+    }
+
+    private long votesAt(LocalDateTime minute) {
+        TurnoutDTO turnout = resultService.getTurnout(BucketGranularity.MINUTE, minute, minute.plusMinutes(1), 4L);
+        return turnout.getPoints().isEmpty() ? 0L : turnout.getPoints().get(0).getVotes();
+    }
+}
@@ -0,0 +1,25 @@
+package evotingsystem.voteservice.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import evotingsystem.voteservice.services.ElectorCacheService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Cache du dernier état connu des électeurs, utilisé en repli quand
+ * voter-service est indisponible. Sa spécification Caffeine est distincte de
+ * spring.cache.caffeine.spec pour le conserver plus longtemps que le cache principal.
+ */
+@Configuration
+public class CacheConfig {
+
+    @Bean
+    public CacheManagerCustomizer<CaffeineCacheManager> lastKnownElectorsCache(
+            @Value("${vote.elector-cache.last-known-spec:maximumSize=500000,expireAfterWrite=24h}") String spec) {
+        return cacheManager -> cacheManager.registerCustomCache(
+                ElectorCacheService.LAST_KNOWN_ELECTORS_CACHE, Caffeine.from(spec).build());
+    }
+}
@@ -1,16 +1,28 @@
 package evotingsystem.voteservice.controllers;
 
+import evotingsystem.voteservice.dtos.CandidateVoteCount;
+import evotingsystem.voteservice.dtos.MinuteVoteCount;
+import evotingsystem.voteservice.dtos.VoteCountSnapshot;
 import evotingsystem.voteservice.dtos.VoteRequest;
 import evotingsystem.voteservice.dtos.VoteResponse;
 import evotingsystem.voteservice.entities.Vote;
 import evotingsystem.voteservice.exceptions.AlreadyVotedException;
 import evotingsystem.voteservice.exceptions.InvalidElectorException;
+import evotingsystem.voteservice.exceptions.ServiceUnavailableException;
 import evotingsystem.voteservice.services.VoteService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -18,7 +30,10 @@ import java.util.List;
 @RequiredArgsConstructor
 public class VoteController {
 
+    private static final String NDJSON = "application/x-ndjson";
+
     private final VoteService voteService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     public ResponseEntity<?> submitVote(@RequestBody VoteRequest request) {
@@ -31,6 +46,19 @@ public class VoteController {
         } catch (InvalidElectorException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
                     .body(e.getMessage());
+        } catch (ServiceUnavailableException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(e.getMessage());
+        }
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<?> submitVotes(@RequestBody List<VoteRequest> requests) {
+        try {
+            return ResponseEntity.ok(voteService.submitVotes(requests));
+        } catch (ServiceUnavailableException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(e.getMessage());
         }
     }
 
@@ -46,4 +74,62 @@ public class VoteController {
                 voteService.getVotesByCandidate(candidateId)
         );
     }
-}
\ No newline at end of file
+
+    @GetMapping("/page")
+    public ResponseEntity<List<Vote>> getVotesPage(
+            @RequestParam(defaultValue = "0") Long afterId,
+            @RequestParam(defaultValue = "1000") int limit) {
+        return ResponseEntity.ok(
+                voteService.getVotesPage(afterId, limit)
+        );
+    }
+
+    @GetMapping(value = "/stream", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> streamVotes(
+            @RequestParam(defaultValue = "0") Long afterId,
+            @RequestParam(required = false) Long maxId) {
+        StreamingResponseBody body = out -> {
+            SequenceWriter writer = objectMapper.writer()
+                    .withRootValueSeparator("\n")
+                    .writeValues(out);
+            voteService.streamVotes(afterId, maxId, vote -> {
+                try {
+                    writer.write(vote);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            writer.flush();
+            out.write('\n');
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NDJSON))
+                .body(body);
+    }
+
+    @GetMapping("/counts")
+    public ResponseEntity<List<CandidateVoteCount>> countVotesByCandidate(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return ResponseEntity.ok(
+                voteService.countVotesByCandidate(from, to)
+        );
+    }
+
+    // Décompte par candidat et par minute, pour la reconstruction des statistiques de participation
+    @GetMapping("/counts/per-minute")
+    public ResponseEntity<List<MinuteVoteCount>> countVotesByCandidateAndMinute(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) Long maxId) {
+        return ResponseEntity.ok(
+                voteService.countVotesByCandidateAndMinute(from, to, maxId)
+        );
+    }
+
+    // Décomptes cohérents de tous les votes, pour le premier chargement de result-service
+    @GetMapping("/counts/snapshot")
+    public ResponseEntity<VoteCountSnapshot> getVoteCountSnapshot() {
+        return ResponseEntity.ok(voteService.getVoteCountSnapshot());
+    }
+}
@@ -0,0 +1,18 @@
+package evotingsystem.voteservice.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchVoteItemResult {
+    private Long electorId;
+    private Long candidateId;
+    private Long idVote;
+    private LocalDateTime dateHeure;
+    private BatchVoteStatus status;
+}
@@ -0,0 +1,16 @@
+package evotingsystem.voteservice.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchVoteResponse {
+    private int accepted;
+    private int rejected;
+    private List<BatchVoteItemResult> results;
+}
@@ -0,0 +1,10 @@
+package evotingsystem.voteservice.dtos;
+
+public enum BatchVoteStatus {
+    ACCEPTED,
+    ALREADY_VOTED,
+    DUPLICATE_IN_BATCH,
+    INVALID_ELECTOR,
+    INVALID_REQUEST,
+    FAILED
+}
@@ -0,0 +1,14 @@
+package evotingsystem.voteservice.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CandidateVoteCount {
+    private Long candidateId;
+    private Long totalVotes;
+    private Long lastVoteId;
+}
@@ -0,0 +1,22 @@
+package evotingsystem.voteservice.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MinuteVoteCount {
+    private Long candidateId;
+    private LocalDateTime minute;
+    private Long totalVotes;
+
+    // Projection JPQL : la minute est regroupée champ par champ (year(), month()... portables MySQL/H2)
+    public MinuteVoteCount(Long candidateId, Integer year, Integer month, Integer day,
+                           Integer hour, Integer minute, Long totalVotes) {
+        this(candidateId, LocalDateTime.of(year, month, day, hour, minute), totalVotes);
+    }
+}
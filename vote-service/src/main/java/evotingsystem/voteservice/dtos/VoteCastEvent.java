@@ -0,0 +1,17 @@
+package evotingsystem.voteservice.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VoteCastEvent {
+    private Long idVote;
+    private LocalDateTime dateHeure;
+    private Long electorId;
+    private Long candidateId;
+}
@@ -0,0 +1,23 @@
+package evotingsystem.voteservice.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Décomptes des votes d'identifiant inférieur ou égal à lastVoteId, lus dans
+ * un même état du stockage : par candidat, par candidat et par minute, et
+ * identifiants de [1, lastVoteId] sans vote (insertion annulée ou pas encore
+ * validée).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VoteCountSnapshot {
+    private Long lastVoteId;
+    private List<CandidateVoteCount> counts;
+    private List<MinuteVoteCount> countsPerMinute;
+    private List<VoteIdRange> missingIds;
+}
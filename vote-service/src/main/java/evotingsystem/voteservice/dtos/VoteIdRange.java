@@ -0,0 +1,14 @@
+package evotingsystem.voteservice.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Identifiants de vote consécutifs [fromId, toId]
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VoteIdRange {
+    private Long fromId;
+    private Long toId;
+}
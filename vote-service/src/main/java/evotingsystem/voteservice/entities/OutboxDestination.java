@@ -0,0 +1,17 @@
+package evotingsystem.voteservice.entities;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Consommateurs des événements VoteCast, acquittés indépendamment l'un de
+ * l'autre.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum OutboxDestination {
+    RESULT_SERVICE("result-service"),
+    VOTER_SERVICE("voter-service");
+
+    private final String serviceName;
+}
@@ -0,0 +1,52 @@
+package evotingsystem.voteservice.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Événement VoteCast en attente de diffusion (transactional outbox) : écrit
+ * dans la même transaction que le vote, puis transmis de façon asynchrone à
+ * result-service et voter-service par OutboxRelay.
+ */
+@Entity
+@Table(name = "vote_outbox", indexes = {
+    @Index(name = "idx_outbox_result_pending", columnList = "resultServiceSent"),
+    @Index(name = "idx_outbox_voter_pending", columnList = "voterServiceSent")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id_event")
+    private Long idEvent;
+
+    @Column(name = "id_vote", nullable = false)
+    private Long idVote;
+
+    @Column(name = "date_heure", nullable = false)
+    private LocalDateTime dateHeure;
+
+    @Column(name = "elector_id", nullable = false)
+    private Long electorId;
+
+    @Column(name = "candidate_id", nullable = false)
+    private Long candidateId;
+
+    @Column(name = "result_service_sent", nullable = false)
+    private boolean resultServiceSent;
+
+    @Column(name = "voter_service_sent", nullable = false)
+    private boolean voterServiceSent;
+
+    public static OutboxEvent voteCast(Vote vote) {
+        return new OutboxEvent(null, vote.getIdVote(), vote.getDateHeure(),
+                vote.getElectorId(), vote.getCandidateId(), false, false);
+    }
+}
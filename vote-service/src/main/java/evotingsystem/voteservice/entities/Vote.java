@@ -26,7 +26,8 @@ public class Vote {
     @Column(name = "date_heure", nullable = false)
     private LocalDateTime dateHeure;
 
-    @Column(name = "elector_id", nullable = false)
+    // Un seul vote par électeur, garanti par la base de données
+    @Column(name = "elector_id", nullable = false, unique = true)
     private Long electorId;
 
     @Column(name = "candidate_id", nullable = false)
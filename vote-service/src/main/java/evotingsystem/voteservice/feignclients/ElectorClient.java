@@ -1,13 +1,34 @@
 package evotingsystem.voteservice.feignclients;
 
+import evotingsystem.voteservice.dtos.VoteCastEvent;
 import evotingsystem.voteservice.feignclients.Elector;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 
-@FeignClient(name = "voter-service")
+import java.util.List;
+
+@FeignClient(name = "voter-service", fallbackFactory = ElectorClientFallbackFactory.class)
 public interface ElectorClient {
 
     @GetMapping("/api/electors/{id}")
     Elector getElectorById(@PathVariable("id") Long id);
+
+    @PostMapping("/api/electors/batch")
+    List<Elector> getElectorsByIds(@RequestBody List<Long> ids);
+
+    @GetMapping("/api/electors")
+    List<Elector> getAllElectors();
+
+    /**
+     * Électeurs d'ID strictement supérieur à afterId, triés par ID (au plus limit).
+     */
+    @GetMapping("/api/electors/page")
+    List<Elector> getElectorsPage(@RequestParam("afterId") Long afterId, @RequestParam("limit") int limit);
+
+    @PostMapping("/api/electors/events/vote-cast")
+    void onVotesCast(@RequestBody List<VoteCastEvent> events);
 }
\ No newline at end of file
@@ -0,0 +1,42 @@
+package evotingsystem.voteservice.feignclients;
+
+import evotingsystem.voteservice.dtos.VoteCastEvent;
+import org.springframework.cloud.openfeign.FallbackFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+public class ElectorClientFallbackFactory implements FallbackFactory<ElectorClient> {
+
+    @Override
+    public ElectorClient create(Throwable cause) {
+        RuntimeException failure = FeignFailures.translate("voter-service", cause);
+        return new ElectorClient() {
+            @Override
+            public Elector getElectorById(Long id) {
+                throw failure;
+            }
+
+            @Override
+            public List<Elector> getElectorsByIds(List<Long> ids) {
+                throw failure;
+            }
+
+            @Override
+            public List<Elector> getAllElectors() {
+                throw failure;
+            }
+
+            @Override
+            public List<Elector> getElectorsPage(Long afterId, int limit) {
+                throw failure;
+            }
+
+            @Override
+            public void onVotesCast(List<VoteCastEvent> events) {
+                throw failure;
+            }
+        };
+    }
+}
@@ -0,0 +1,23 @@
+package evotingsystem.voteservice.feignclients;
+
+import evotingsystem.voteservice.exceptions.ServiceUnavailableException;
+import feign.FeignException;
+
+/**
+ * Traduction des échecs d'appel Feign reçus par les fallbacks : une erreur
+ * 4xx (électeur inconnu, requête invalide) est renvoyée telle quelle, tout le
+ * reste (timeout, connexion refusée, 5xx, circuit ouvert, bulkhead plein)
+ * devient une ServiceUnavailableException.
+ */
+final class FeignFailures {
+
+    private FeignFailures() {
+    }
+
+    static RuntimeException translate(String service, Throwable cause) {
+        if (cause instanceof FeignException.FeignClientException clientError) {
+            return clientError;
+        }
+        return new ServiceUnavailableException(service + " indisponible : " + cause.getMessage(), cause);
+    }
+}
@@ -0,0 +1,15 @@
+package evotingsystem.voteservice.feignclients;
+
+import evotingsystem.voteservice.dtos.VoteCastEvent;
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+
+import java.util.List;
+
+@FeignClient(name = "result-service", fallbackFactory = ResultClientFallbackFactory.class)
+public interface ResultClient {
+
+    @PostMapping("/api/results/events/vote-cast")
+    void onVotesCast(@RequestBody List<VoteCastEvent> events);
+}
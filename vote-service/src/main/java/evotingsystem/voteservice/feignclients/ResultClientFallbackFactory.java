@@ -0,0 +1,22 @@
+package evotingsystem.voteservice.feignclients;
+
+import evotingsystem.voteservice.dtos.VoteCastEvent;
+import org.springframework.cloud.openfeign.FallbackFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+public class ResultClientFallbackFactory implements FallbackFactory<ResultClient> {
+
+    @Override
+    public ResultClient create(Throwable cause) {
+        RuntimeException failure = FeignFailures.translate("result-service", cause);
+        return new ResultClient() {
+            @Override
+            public void onVotesCast(List<VoteCastEvent> events) {
+                throw failure;
+            }
+        };
+    }
+}
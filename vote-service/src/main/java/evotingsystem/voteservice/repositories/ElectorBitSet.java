@@ -0,0 +1,71 @@
+package evotingsystem.voteservice.repositories;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Électeurs ayant voté, un bit par identifiant : les identifiants sont denses
+ * (auto-incrément de voter-service), 10 millions d'électeurs tiennent en
+ * 1,2 Mo contre plusieurs centaines de Mo pour un Set<Long>. Les identifiants
+ * hors de [0, Integer.MAX_VALUE] sont conservés à part.
+ *
+ * Lectures sans verrou ; les ajouts sont sérialisés (un ajout par vote
+ * accepté, le tableau n'est agrandi qu'en l'absence d'autre ajout).
+ */
+public class ElectorBitSet {
+
+    private static final int INITIAL_WORDS = 1024;
+
+    private volatile AtomicLongArray words = new AtomicLongArray(INITIAL_WORDS);
+    private final Set<Long> outOfRange = ConcurrentHashMap.newKeySet();
+    private volatile long cardinality;
+
+    public boolean contains(long electorId) {
+        if (electorId < 0 || electorId > Integer.MAX_VALUE) {
+            return outOfRange.contains(electorId);
+        }
+        AtomicLongArray current = words;
+        int index = (int) (electorId >>> 6);
+        return index < current.length() && (current.get(index) & (1L << electorId)) != 0;
+    }
+
+    /**
+     * @return false si l'électeur était déjà présent
+     */
+    public synchronized boolean add(long electorId) {
+        boolean added;
+        if (electorId < 0 || electorId > Integer.MAX_VALUE) {
+            added = outOfRange.add(electorId);
+        } else {
+            int index = (int) (electorId >>> 6);
+            AtomicLongArray current = words;
+            if (index >= current.length()) {
+                // Agrandissement de 1/8 : au plus 12,5 % de mots inutilisés. Les lecteurs
+                // continuent sur l'ancien tableau, inchangé pendant la copie
+                AtomicLongArray grown = new AtomicLongArray(Math.max(index + 1, current.length() + current.length() / 8));
+                for (int i = 0; i < current.length(); i++) {
+                    grown.set(i, current.get(i));
+                }
+                words = grown;
+                current = grown;
+            }
+            long mask = 1L << electorId;
+            added = (current.getAndAccumulate(index, mask, (word, bit) -> word | bit) & mask) == 0;
+        }
+        if (added) {
+            cardinality++;
+        }
+        return added;
+    }
+
+    // Nombre d'électeurs présents
+    public long cardinality() {
+        return cardinality;
+    }
+
+    // Taille du tableau de bits (hors identifiants conservés à part)
+    public long sizeInBytes() {
+        return (long) words.length() * Long.BYTES;
+    }
+}
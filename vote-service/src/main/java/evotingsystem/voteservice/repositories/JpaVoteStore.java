@@ -0,0 +1,180 @@
+package evotingsystem.voteservice.repositories;
+
+import evotingsystem.voteservice.dtos.CandidateVoteCount;
+import evotingsystem.voteservice.dtos.MinuteVoteCount;
+import evotingsystem.voteservice.dtos.VoteCountSnapshot;
+import evotingsystem.voteservice.dtos.VoteIdRange;
+import evotingsystem.voteservice.entities.OutboxDestination;
+import evotingsystem.voteservice.entities.OutboxEvent;
+import evotingsystem.voteservice.entities.Vote;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Stockage des votes en base (vote.storage.engine=jpa) : la contrainte
+ * d'unicité sur elector_id arbitre les votes concurrents et l'événement
+ * VoteCast est écrit dans vote_outbox au sein de la même transaction.
+ *
+ * Les électeurs ayant voté sont indexés en mémoire (ElectorBitSet) : l'index
+ * est reconstruit au démarrage en parcourant votes.elector_id, puis complété
+ * à chaque insertion. Il évite une requête par vote pour écarter les doublons,
+ * la contrainte d'unicité restant l'arbitre entre instances.
+ */
+@Repository
+@ConditionalOnProperty(name = "vote.storage.engine", havingValue = "jpa", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class JpaVoteStore implements VoteStore {
+
+    private final VoteRepository voteRepository;
+    private final VoteBatchRepository voteBatchRepository;
+    private final OutboxEventRepository outboxEventRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+
+    private final ElectorBitSet votedElectors = new ElectorBitSet();
+
+    @PostConstruct
+    void loadVotedElectors() {
+        long start = System.nanoTime();
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<Long> electorIds = voteRepository.streamElectorIds()) {
+                electorIds.forEach(votedElectors::add);
+            }
+        });
+        log.info("Index des électeurs ayant voté : {} électeurs, {} Ko, chargé en {} ms",
+                votedElectors.cardinality(), votedElectors.sizeInBytes() / 1024,
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @Override
+    public Vote insert(Vote vote) {
+        Vote saved = transactionTemplate.execute(status -> {
+            Vote inserted = voteRepository.saveAndFlush(vote);
+            outboxEventRepository.save(OutboxEvent.voteCast(inserted));
+            return inserted;
+        });
+        votedElectors.add(saved.getElectorId());
+        return saved;
+    }
+
+    @Override
+    public void insertAll(List<Vote> votes) {
+        voteBatchRepository.insertAll(votes);
+        votes.forEach(vote -> votedElectors.add(vote.getElectorId()));
+    }
+
+    @Override
+    public long count() {
+        return voteRepository.count();
+    }
+
+    @Override
+    public boolean existsByElectorId(Long electorId) {
+        if (votedElectors.contains(electorId)) {
+            return true;
+        }
+        // Vote éventuellement enregistré par une autre instance : l'index l'apprend
+        boolean exists = voteRepository.existsByElectorId(electorId);
+        if (exists) {
+            votedElectors.add(electorId);
+        }
+        return exists;
+    }
+
+    @Override
+    public boolean isKnownVoter(Long electorId) {
+        return votedElectors.contains(electorId);
+    }
+
+    @Override
+    public List<Long> findVotedElectorIds(Collection<Long> electorIds) {
+        return voteRepository.findVotedElectorIds(electorIds);
+    }
+
+    @Override
+    public List<Vote> findAll() {
+        return voteRepository.findAll();
+    }
+
+    @Override
+    public List<Vote> findByCandidateId(Long candidateId) {
+        return voteRepository.findByCandidateId(candidateId);
+    }
+
+    @Override
+    public List<Vote> findPage(Long afterId, int limit) {
+        return voteRepository.findByIdVoteGreaterThanOrderByIdVoteAsc(afterId, Limit.of(limit));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void stream(Long afterId, Long maxId, Consumer<Vote> consumer) {
+        try (Stream<Vote> votes = voteRepository.streamByIdVoteRange(afterId, maxId)) {
+            votes.forEach(vote -> {
+                consumer.accept(vote);
+                // Détacher chaque vote pour garder le contexte de persistance vide
+                entityManager.detach(vote);
+            });
+        }
+    }
+
+    @Override
+    public List<CandidateVoteCount> countByCandidate(LocalDateTime from, LocalDateTime to) {
+        return voteRepository.countByCandidate(from, to);
+    }
+
+    @Override
+    public List<MinuteVoteCount> countByCandidateAndMinute(LocalDateTime from, LocalDateTime to, Long maxId) {
+        return voteRepository.countByCandidateAndMinute(from, to, maxId);
+    }
+
+    @Override
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public VoteCountSnapshot countSnapshot() {
+        // Lecture cohérente (InnoDB) : un vote validé entre deux requêtes n'est vu par aucune
+        long maxId = voteRepository.findMaxIdVote().orElse(0L);
+        List<VoteIdRange> missingIds = voteRepository.findMissingIdRanges(maxId).stream()
+                .map(row -> new VoteIdRange(((Number) row[0]).longValue(), ((Number) row[1]).longValue()))
+                .collect(Collectors.toList());
+        return new VoteCountSnapshot(maxId, voteRepository.countByCandidateUpTo(maxId),
+                voteRepository.countByCandidateAndMinute(null, null, maxId), missingIds);
+    }
+
+    @Override
+    public List<OutboxEvent> findPendingEvents(OutboxDestination destination, int limit) {
+        return switch (destination) {
+            case RESULT_SERVICE -> outboxEventRepository.findByResultServiceSentFalseOrderByIdEventAsc(Limit.of(limit));
+            case VOTER_SERVICE -> outboxEventRepository.findByVoterServiceSentFalseOrderByIdEventAsc(Limit.of(limit));
+        };
+    }
+
+    @Override
+    public void markDelivered(OutboxDestination destination, List<OutboxEvent> events) {
+        List<Long> ids = events.stream().map(OutboxEvent::getIdEvent).collect(Collectors.toList());
+        switch (destination) {
+            case RESULT_SERVICE -> outboxEventRepository.markResultServiceSent(ids);
+            case VOTER_SERVICE -> outboxEventRepository.markVoterServiceSent(ids);
+        }
+    }
+
+    @Override
+    public void purgeDelivered() {
+        outboxEventRepository.deleteDelivered();
+    }
+}
@@ -0,0 +1,34 @@
+package evotingsystem.voteservice.repositories;
+
+import evotingsystem.voteservice.entities.OutboxEvent;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+    List<OutboxEvent> findByResultServiceSentFalseOrderByIdEventAsc(Limit limit);
+    List<OutboxEvent> findByVoterServiceSentFalseOrderByIdEventAsc(Limit limit);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.resultServiceSent = true WHERE e.idEvent IN :ids")
+    void markResultServiceSent(@Param("ids") Collection<Long> ids);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.voterServiceSent = true WHERE e.idEvent IN :ids")
+    void markVoterServiceSent(@Param("ids") Collection<Long> ids);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.resultServiceSent = true AND e.voterServiceSent = true")
+    int deleteDelivered();
+}
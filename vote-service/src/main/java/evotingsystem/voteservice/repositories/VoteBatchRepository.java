@@ -0,0 +1,67 @@
+package evotingsystem.voteservice.repositories;
+
+import evotingsystem.voteservice.entities.Vote;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * Insertion des votes par lots JDBC. Hibernate ne regroupe pas les INSERT
+ * d'une entité en GenerationType.IDENTITY, d'où ce passage direct par JDBC
+ * (combiné à rewriteBatchedStatements côté MySQL).
+ */
+@Repository
+@RequiredArgsConstructor
+public class VoteBatchRepository {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO votes (date_heure, elector_id, candidate_id) VALUES (?, ?, ?)";
+
+    private static final String INSERT_OUTBOX_SQL =
+            "INSERT INTO vote_outbox (id_vote, date_heure, elector_id, candidate_id, " +
+            "result_service_sent, voter_service_sent) VALUES (?, ?, ?, ?, false, false)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Insère tous les votes dans une même transaction et renseigne leur idVote
+     * à partir des clés générées, puis écrit les événements VoteCast
+     * correspondants dans l'outbox. En cas de violation de contrainte, aucun
+     * vote du lot n'est conservé.
+     */
+    @Transactional
+    public void insertAll(List<Vote> votes) {
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(INSERT_SQL, new String[]{"id_vote"})) {
+                for (Vote vote : votes) {
+                    ps.setTimestamp(1, Timestamp.valueOf(vote.getDateHeure()));
+                    ps.setLong(2, vote.getElectorId());
+                    ps.setLong(3, vote.getCandidateId());
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+
+                try (ResultSet keys = ps.getGeneratedKeys()) {
+                    for (int i = 0; i < votes.size() && keys.next(); i++) {
+                        votes.get(i).setIdVote(keys.getLong(1));
+                    }
+                }
+            }
+            return null;
+        });
+
+        jdbcTemplate.batchUpdate(INSERT_OUTBOX_SQL, votes, votes.size(), (ps, vote) -> {
+            ps.setLong(1, vote.getIdVote());
+            ps.setTimestamp(2, Timestamp.valueOf(vote.getDateHeure()));
+            ps.setLong(3, vote.getElectorId());
+            ps.setLong(4, vote.getCandidateId());
+        });
+    }
+}
@@ -1,15 +1,74 @@
 package evotingsystem.voteservice.repositories;
 
+import evotingsystem.voteservice.dtos.CandidateVoteCount;
+import evotingsystem.voteservice.dtos.MinuteVoteCount;
 import evotingsystem.voteservice.entities.Vote;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface VoteRepository extends JpaRepository<Vote, Long> {
     Optional<Vote> findByElectorId(Long electorId);
     List<Vote> findByCandidateId(Long candidateId);
     boolean existsByElectorId(Long electorId);
+
+    @Query("SELECT v.electorId FROM Vote v WHERE v.electorId IN :electorIds")
+    List<Long> findVotedElectorIds(@Param("electorIds") Collection<Long> electorIds);
+    List<Vote> findByIdVoteGreaterThanOrderByIdVoteAsc(Long idVote, Limit limit);
+
+    @Query("SELECT new evotingsystem.voteservice.dtos.CandidateVoteCount(v.candidateId, COUNT(v), MAX(v.idVote)) " +
+           "FROM Vote v " +
+           "WHERE (:from IS NULL OR v.dateHeure >= :from) AND (:to IS NULL OR v.dateHeure < :to) " +
+           "GROUP BY v.candidateId")
+    List<CandidateVoteCount> countByCandidate(@Param("from") LocalDateTime from,
+                                              @Param("to") LocalDateTime to);
+
+    // Parcours par plage de dateHeure (idx_date_heure), limité aux votes d'identifiant <= maxId
+    @Query("SELECT new evotingsystem.voteservice.dtos.MinuteVoteCount(v.candidateId, " +
+           "year(v.dateHeure), month(v.dateHeure), day(v.dateHeure), hour(v.dateHeure), minute(v.dateHeure), COUNT(v)) " +
+           "FROM Vote v " +
+           "WHERE (:from IS NULL OR v.dateHeure >= :from) AND (:to IS NULL OR v.dateHeure < :to) " +
+           "AND (:maxId IS NULL OR v.idVote <= :maxId) " +
+           "GROUP BY v.candidateId, year(v.dateHeure), month(v.dateHeure), day(v.dateHeure), " +
+           "hour(v.dateHeure), minute(v.dateHeure)")
+    List<MinuteVoteCount> countByCandidateAndMinute(@Param("from") LocalDateTime from,
+                                                    @Param("to") LocalDateTime to,
+                                                    @Param("maxId") Long maxId);
+
+    @Query("SELECT MAX(v.idVote) FROM Vote v")
+    Optional<Long> findMaxIdVote();
+
+    @Query("SELECT new evotingsystem.voteservice.dtos.CandidateVoteCount(v.candidateId, COUNT(v), MAX(v.idVote)) " +
+           "FROM Vote v WHERE v.idVote <= :maxId GROUP BY v.candidateId")
+    List<CandidateVoteCount> countByCandidateUpTo(@Param("maxId") Long maxId);
+
+    // Identifiants de [1, maxId] sans vote, par plage : parcours de la clé primaire, une ligne par trou
+    @Query(value = "SELECT prev_id + 1, id_vote - 1 FROM (" +
+                   "SELECT id_vote, LAG(id_vote, 1, 0) OVER (ORDER BY id_vote) AS prev_id " +
+                   "FROM votes WHERE id_vote <= :maxId) ids " +
+                   "WHERE id_vote > prev_id + 1 ORDER BY id_vote",
+           nativeQuery = true)
+    List<Object[]> findMissingIdRanges(@Param("maxId") Long maxId);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "10000"))
+    @Query("SELECT v.electorId FROM Vote v")
+    Stream<Long> streamElectorIds();
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT v FROM Vote v WHERE v.idVote > :afterId AND (:maxId IS NULL OR v.idVote <= :maxId) " +
+           "ORDER BY v.idVote")
+    Stream<Vote> streamByIdVoteRange(@Param("afterId") Long afterId, @Param("maxId") Long maxId);
 }
\ No newline at end of file
@@ -0,0 +1,79 @@
+package evotingsystem.voteservice.repositories;
+
+import evotingsystem.voteservice.dtos.CandidateVoteCount;
+import evotingsystem.voteservice.dtos.MinuteVoteCount;
+import evotingsystem.voteservice.dtos.VoteCountSnapshot;
+import evotingsystem.voteservice.entities.OutboxDestination;
+import evotingsystem.voteservice.entities.OutboxEvent;
+import evotingsystem.voteservice.entities.Vote;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Moteur de stockage des votes et des événements VoteCast à diffuser,
+ * choisi par vote.storage.engine :
+ * - jpa (par défaut) : tables votes et vote_outbox (MySQL) ;
+ * - journal : segments mappés en mémoire en ajout seul (JournalVoteStore).
+ *
+ * Chaque vote enregistré produit un événement VoteCast. Un second vote du même
+ * électeur est refusé par une DataIntegrityViolationException.
+ */
+public interface VoteStore {
+
+    /**
+     * Enregistre le vote et son événement VoteCast, puis renseigne son idVote
+     * (et sa dateHeure si elle est vide).
+     */
+    Vote insert(Vote vote);
+
+    /**
+     * Enregistre tous les votes ou aucun, et renseigne leur idVote.
+     */
+    void insertAll(List<Vote> votes);
+
+    long count();
+
+    boolean existsByElectorId(Long electorId);
+
+    /**
+     * Consulte l'index en mémoire des électeurs ayant voté, sans accès au
+     * stockage. Une réponse positive est certaine ; une réponse négative peut
+     * ignorer un vote enregistré par une autre instance, refusé ensuite par
+     * l'insertion.
+     */
+    boolean isKnownVoter(Long electorId);
+
+    List<Long> findVotedElectorIds(Collection<Long> electorIds);
+
+    List<Vote> findAll();
+
+    List<Vote> findByCandidateId(Long candidateId);
+
+    // Votes d'identifiant > afterId, par identifiant croissant
+    List<Vote> findPage(Long afterId, int limit);
+
+    // Votes d'identifiant dans (afterId, maxId], par identifiant croissant ; maxId nul : sans borne
+    void stream(Long afterId, Long maxId, Consumer<Vote> consumer);
+
+    List<CandidateVoteCount> countByCandidate(LocalDateTime from, LocalDateTime to);
+
+    List<MinuteVoteCount> countByCandidateAndMinute(LocalDateTime from, LocalDateTime to, Long maxId);
+
+    /**
+     * Décomptes par candidat et par minute de tous les votes enregistrés, avec
+     * les identifiants sans vote, cohérents entre eux : un vote validé pendant
+     * la lecture est entièrement dedans ou entièrement dehors.
+     */
+    VoteCountSnapshot countSnapshot();
+
+    // Événements VoteCast non acquittés par la destination, par identifiant croissant
+    List<OutboxEvent> findPendingEvents(OutboxDestination destination, int limit);
+
+    void markDelivered(OutboxDestination destination, List<OutboxEvent> events);
+
+    // Supprime les événements acquittés par toutes les destinations
+    void purgeDelivered();
+}
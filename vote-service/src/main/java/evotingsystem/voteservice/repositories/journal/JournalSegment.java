@@ -0,0 +1,150 @@
+package evotingsystem.voteservice.repositories.journal;
+
+import evotingsystem.voteservice.entities.Vote;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.zip.CRC32;
+
+/**
+ * Segment du journal des votes : fichier de taille fixe, préalloué et mappé
+ * en mémoire, contenant capacity enregistrements de RECORD_SIZE octets.
+ *
+ * Enregistrement : idVote, electorId, candidateId, dateHeure (microsecondes
+ * depuis l'epoch, sans fuseau) puis un CRC32 des champs précédents. Le
+ * fichier est préalloué à zéro : le premier enregistrement invalide marque
+ * la fin des votes écrits.
+ *
+ * Lectures par positions absolues, sans état partagé : sûres depuis plusieurs
+ * threads. Les écritures sont réservées au verrou du JournalVoteStore.
+ */
+class JournalSegment implements Closeable {
+
+    static final int RECORD_SIZE = 8 + 8 + 8 + 8 + 4;
+
+    private static final int CHECKSUM_OFFSET = RECORD_SIZE - 4;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final long firstIdVote;
+    private final int capacity;
+
+    JournalSegment(Path file, long firstIdVote, int capacity) throws IOException {
+        long bytes = (long) capacity * RECORD_SIZE;
+        if (Files.exists(file) && Files.size(file) != 0 && Files.size(file) != bytes) {
+            throw new IllegalStateException("Segment " + file + " de " + Files.size(file)
+                    + " octets, incompatible avec vote.storage.journal.segment-records=" + capacity);
+        }
+        this.firstIdVote = firstIdVote;
+        this.capacity = capacity;
+        this.channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, bytes);
+    }
+
+    /**
+     * Nombre d'enregistrements valides en tête de segment : la lecture s'arrête
+     * au premier enregistrement vide, tronqué (arrêt brutal pendant l'écriture)
+     * ou dont l'identifiant ne suit pas le précédent.
+     */
+    int countValidRecords() {
+        int position = 0;
+        while (position < capacity && isValid(position)) {
+            position++;
+        }
+        return position;
+    }
+
+    /**
+     * Remet à zéro la fin du segment à partir de position : des pages écrites
+     * avant un arrêt brutal, mais jamais acquittées, ne doivent pas être
+     * relues une fois les votes suivants écrits par-dessus.
+     */
+    void clearFrom(int position) {
+        int from = position * RECORD_SIZE;
+        int to = capacity * RECORD_SIZE;
+        boolean dirty = false;
+        for (int offset = from; offset + 8 <= to && !dirty; offset += 8) {
+            dirty = buffer.getLong(offset) != 0;
+        }
+        if (!dirty) {
+            return;
+        }
+        for (int offset = from; offset < to; offset++) {
+            buffer.put(offset, (byte) 0);
+        }
+        buffer.force(from, to - from);
+    }
+
+    void write(int position, long idVote, Vote vote) {
+        int offset = position * RECORD_SIZE;
+        buffer.putLong(offset, idVote);
+        buffer.putLong(offset + 8, vote.getElectorId());
+        buffer.putLong(offset + 16, vote.getCandidateId());
+        buffer.putLong(offset + 24, toEpochMicros(vote.getDateHeure()));
+        buffer.putInt(offset + CHECKSUM_OFFSET, checksum(offset));
+    }
+
+    // Écriture sur disque des enregistrements [from, from + count)
+    void force(int from, int count) {
+        buffer.force(from * RECORD_SIZE, count * RECORD_SIZE);
+    }
+
+    Vote read(int position) {
+        return new Vote(idVote(position), dateHeure(position), electorId(position), candidateId(position), null);
+    }
+
+    long idVote(int position) {
+        return buffer.getLong(position * RECORD_SIZE);
+    }
+
+    long electorId(int position) {
+        return buffer.getLong(position * RECORD_SIZE + 8);
+    }
+
+    long candidateId(int position) {
+        return buffer.getLong(position * RECORD_SIZE + 16);
+    }
+
+    long epochMicros(int position) {
+        return buffer.getLong(position * RECORD_SIZE + 24);
+    }
+
+    LocalDateTime dateHeure(int position) {
+        return fromEpochMicros(epochMicros(position));
+    }
+
+    @Override
+    public void close() throws IOException {
+        buffer.force();
+        channel.close();
+    }
+
+    static long toEpochMicros(LocalDateTime dateHeure) {
+        return dateHeure.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + dateHeure.getNano() / 1_000;
+    }
+
+    static LocalDateTime fromEpochMicros(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000),
+                Math.floorMod(micros, 1_000_000) * 1_000, ZoneOffset.UTC);
+    }
+
+    private boolean isValid(int position) {
+        int offset = position * RECORD_SIZE;
+        return buffer.getLong(offset) == firstIdVote + position
+                && buffer.getInt(offset + CHECKSUM_OFFSET) == checksum(offset);
+    }
+
+    private int checksum(int offset) {
+        CRC32 crc = new CRC32();
+        crc.update(buffer.slice(offset, CHECKSUM_OFFSET));
+        return (int) crc.getValue();
+    }
+}
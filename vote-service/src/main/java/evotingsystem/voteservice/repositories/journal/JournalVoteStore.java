@@ -0,0 +1,386 @@
+package evotingsystem.voteservice.repositories.journal;
+
+import evotingsystem.voteservice.dtos.CandidateVoteCount;
+import evotingsystem.voteservice.dtos.MinuteVoteCount;
+import evotingsystem.voteservice.dtos.VoteCountSnapshot;
+import evotingsystem.voteservice.entities.OutboxDestination;
+import evotingsystem.voteservice.entities.OutboxEvent;
+import evotingsystem.voteservice.entities.Vote;
+import evotingsystem.voteservice.repositories.ElectorBitSet;
+import evotingsystem.voteservice.repositories.VoteStore;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Repository;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Stockage des votes en journal local (vote.storage.engine=journal), sans
+ * base de données sur le chemin du vote.
+ *
+ * Les votes sont ajoutés à la suite dans des segments mappés en mémoire
+ * (votes-00000000.seg, ...) de vote.storage.journal.segment-records
+ * enregistrements chacun ; un nouveau segment est créé quand le précédent est
+ * plein. L'idVote est la position du vote dans le journal (à partir de 1).
+ * Un vote est acquitté une fois ses pages écrites sur disque.
+ *
+ * Un seul vote par électeur : les écritures sont sérialisées par un verrou et
+ * les électeurs ayant voté sont indexés dans un ElectorBitSet, reconstruit au
+ * démarrage en relisant les segments.
+ *
+ * Chaque vote est aussi son événement VoteCast (idEvent = idVote) : l'outbox
+ * se réduit au dernier idVote acquitté par chaque destination, conservé dans
+ * outbox.cursors.
+ *
+ * Les lectures (listes, agrégats) parcourent les segments en mémoire.
+ */
+@Repository
+@ConditionalOnProperty(name = "vote.storage.engine", havingValue = "journal")
+@Slf4j
+public class JournalVoteStore implements VoteStore, Closeable {
+
+    private static final String SEGMENT_FORMAT = "votes-%08d.seg";
+    private static final String CURSORS_FILE = "outbox.cursors";
+    private static final long MICROS_PER_MINUTE = 60_000_000L;
+
+    private final Path directory;
+    private final int segmentRecords;
+    private final List<JournalSegment> segments = new CopyOnWriteArrayList<>();
+    private final ElectorBitSet electors = new ElectorBitSet();
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final FileChannel cursorsChannel;
+    private final long[] deliveredIds = new long[OutboxDestination.values().length];
+
+    // Nombre de votes écrits sur disque, publié après chaque écriture
+    private volatile long size;
+
+    public JournalVoteStore(@Value("${vote.storage.journal.dir:data/vote-store}") Path directory,
+                            @Value("${vote.storage.journal.segment-records:1000000}") int segmentRecords)
+            throws IOException {
+        if (segmentRecords <= 0 || segmentRecords > Integer.MAX_VALUE / JournalSegment.RECORD_SIZE) {
+            throw new IllegalArgumentException("vote.storage.journal.segment-records invalide : " + segmentRecords);
+        }
+        this.directory = directory;
+        this.segmentRecords = segmentRecords;
+        Files.createDirectories(directory);
+        this.cursorsChannel = FileChannel.open(directory.resolve(CURSORS_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        recover();
+    }
+
+    /**
+     * Relit les segments dans l'ordre jusqu'au premier enregistrement invalide
+     * et reconstruit l'index des électeurs. Les segments suivants ne
+     * contiennent que des votes jamais acquittés et sont supprimés.
+     */
+    private void recover() throws IOException {
+        long recovered = 0;
+        for (int number = 0; Files.exists(segmentFile(number)); number++) {
+            JournalSegment segment = new JournalSegment(segmentFile(number), recovered + 1, segmentRecords);
+            segments.add(segment);
+            int valid = segment.countValidRecords();
+            for (int position = 0; position < valid; position++) {
+                if (!electors.add(segment.electorId(position))) {
+                    log.warn("Électeur {} présent deux fois dans le journal des votes", segment.electorId(position));
+                }
+            }
+            recovered += valid;
+            if (valid < segmentRecords) {
+                segment.clearFrom(valid);
+                for (int stale = number + 1; Files.exists(segmentFile(stale)); stale++) {
+                    log.warn("Segment {} postérieur à la fin du journal, supprimé", segmentFile(stale));
+                    Files.delete(segmentFile(stale));
+                }
+                break;
+            }
+        }
+        size = recovered;
+
+        ByteBuffer cursors = ByteBuffer.allocate(deliveredIds.length * 8);
+        cursorsChannel.read(cursors, 0);
+        cursors.flip();
+        for (int i = 0; i < deliveredIds.length && cursors.remaining() >= 8; i++) {
+            deliveredIds[i] = Math.min(cursors.getLong(), recovered);
+        }
+        log.info("Journal des votes {} : {} votes relus ({} segments)", directory, recovered, segments.size());
+    }
+
+    @Override
+    public Vote insert(Vote vote) {
+        insertAll(List.of(vote));
+        return vote;
+    }
+
+    @Override
+    public void insertAll(List<Vote> votes) {
+        if (votes.isEmpty()) {
+            return;
+        }
+        writeLock.lock();
+        try {
+            Set<Long> batchElectorIds = new HashSet<>();
+            for (Vote vote : votes) {
+                if (electors.contains(vote.getElectorId()) || !batchElectorIds.add(vote.getElectorId())) {
+                    throw new DuplicateKeyException("Vote déjà enregistré pour l'électeur " + vote.getElectorId());
+                }
+            }
+
+            long first = size;
+            try {
+                for (int i = 0; i < votes.size(); i++) {
+                    Vote vote = votes.get(i);
+                    // Précision du journal : la microseconde, comme la colonne DATETIME(6)
+                    LocalDateTime dateHeure = vote.getDateHeure() != null ? vote.getDateHeure() : LocalDateTime.now();
+                    vote.setDateHeure(dateHeure.truncatedTo(ChronoUnit.MICROS));
+                    long index = first + i;
+                    segmentFor(index).write(position(index), index + 1, vote);
+                }
+                force(first, votes.size());
+            } catch (IOException | RuntimeException e) {
+                throw new DataAccessResourceFailureException("Écriture du journal des votes impossible", e);
+            }
+
+            for (int i = 0; i < votes.size(); i++) {
+                votes.get(i).setIdVote(first + i + 1);
+                electors.add(votes.get(i).getElectorId());
+            }
+            size = first + votes.size();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private JournalSegment segmentFor(long index) throws IOException {
+        int number = (int) (index / segmentRecords);
+        if (number == segments.size()) {
+            // Segment précédent plein : ses votes sont déjà sur disque
+            segments.add(new JournalSegment(segmentFile(number), index + 1, segmentRecords));
+        }
+        return segments.get(number);
+    }
+
+    // Écriture sur disque des votes [first, first + count), éventuellement sur deux segments
+    private void force(long first, int count) {
+        long index = first;
+        long end = first + count;
+        while (index < end) {
+            int position = position(index);
+            int inSegment = (int) Math.min(end - index, segmentRecords - position);
+            segments.get((int) (index / segmentRecords)).force(position, inSegment);
+            index += inSegment;
+        }
+    }
+
+    @Override
+    public long count() {
+        return size;
+    }
+
+    @Override
+    public boolean existsByElectorId(Long electorId) {
+        return electors.contains(electorId);
+    }
+
+    // Le journal est le seul stockage des votes : l'index est exact
+    @Override
+    public boolean isKnownVoter(Long electorId) {
+        return electors.contains(electorId);
+    }
+
+    @Override
+    public List<Long> findVotedElectorIds(Collection<Long> electorIds) {
+        return electorIds.stream().filter(electors::contains).collect(Collectors.toList());
+    }
+
+    @Override
+    public List<Vote> findAll() {
+        return findPage(0L, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<Vote> findByCandidateId(Long candidateId) {
+        List<Vote> votes = new ArrayList<>();
+        long end = size;
+        for (long index = 0; index < end; index++) {
+            JournalSegment segment = segment(index);
+            if (segment.candidateId(position(index)) == candidateId) {
+                votes.add(segment.read(position(index)));
+            }
+        }
+        return votes;
+    }
+
+    @Override
+    public List<Vote> findPage(Long afterId, int limit) {
+        // idVote = position + 1 : accès direct au premier vote de la page
+        long from = Math.max(0, afterId != null ? afterId : 0);
+        long end = Math.min(size, from + limit);
+        List<Vote> votes = new ArrayList<>((int) Math.max(0, Math.min(end - from, 10_000)));
+        for (long index = from; index < end; index++) {
+            votes.add(segment(index).read(position(index)));
+        }
+        return votes;
+    }
+
+    @Override
+    public void stream(Long afterId, Long maxId, Consumer<Vote> consumer) {
+        long end = maxId != null ? Math.max(0, Math.min(size, maxId)) : size;
+        for (long index = Math.max(0, afterId != null ? afterId : 0); index < end; index++) {
+            consumer.accept(segment(index).read(position(index)));
+        }
+    }
+
+    @Override
+    public List<CandidateVoteCount> countByCandidate(LocalDateTime from, LocalDateTime to) {
+        return countByCandidate(from, to, size);
+    }
+
+    private List<CandidateVoteCount> countByCandidate(LocalDateTime from, LocalDateTime to, long end) {
+        Map<Long, CandidateVoteCount> counts = new TreeMap<>();
+        scan(from, to, end, (segment, position) -> {
+            CandidateVoteCount count = counts.computeIfAbsent(segment.candidateId(position),
+                    candidateId -> new CandidateVoteCount(candidateId, 0L, 0L));
+            count.setTotalVotes(count.getTotalVotes() + 1);
+            count.setLastVoteId(segment.idVote(position));
+        });
+        return new ArrayList<>(counts.values());
+    }
+
+    @Override
+    public List<MinuteVoteCount> countByCandidateAndMinute(LocalDateTime from, LocalDateTime to, Long maxId) {
+        Map<Long, Map<Long, Long>> counts = new TreeMap<>();
+        long end = maxId != null ? Math.max(0, Math.min(size, maxId)) : size;
+        scan(from, to, end, (segment, position) -> counts
+                .computeIfAbsent(segment.candidateId(position), candidateId -> new TreeMap<>())
+                .merge(Math.floorDiv(segment.epochMicros(position), MICROS_PER_MINUTE), 1L, Long::sum));
+
+        List<MinuteVoteCount> result = new ArrayList<>();
+        counts.forEach((candidateId, minutes) -> minutes.forEach((minute, total) -> result.add(new MinuteVoteCount(
+                candidateId, JournalSegment.fromEpochMicros(minute * MICROS_PER_MINUTE), total))));
+        return result;
+    }
+
+    @Override
+    public VoteCountSnapshot countSnapshot() {
+        // Enregistrements [0, end) immuables, identifiants sans trou
+        long end = size;
+        return new VoteCountSnapshot(end, countByCandidate(null, null, end),
+                countByCandidateAndMinute(null, null, end), List.of());
+    }
+
+    // Parcourt les votes [0, end) dont la dateHeure est dans [from, to)
+    private void scan(LocalDateTime from, LocalDateTime to, long end, RecordVisitor visitor) {
+        long fromMicros = from != null ? JournalSegment.toEpochMicros(from) : Long.MIN_VALUE;
+        long toMicros = to != null ? JournalSegment.toEpochMicros(to) : Long.MAX_VALUE;
+        for (long index = 0; index < end; index++) {
+            JournalSegment segment = segment(index);
+            long micros = segment.epochMicros(position(index));
+            if (micros >= fromMicros && micros < toMicros) {
+                visitor.visit(segment, position(index));
+            }
+        }
+    }
+
+    @Override
+    public List<OutboxEvent> findPendingEvents(OutboxDestination destination, int limit) {
+        long resultDelivered;
+        long voterDelivered;
+        synchronized (deliveredIds) {
+            resultDelivered = deliveredIds[OutboxDestination.RESULT_SERVICE.ordinal()];
+            voterDelivered = deliveredIds[OutboxDestination.VOTER_SERVICE.ordinal()];
+        }
+        long delivered = destination == OutboxDestination.RESULT_SERVICE ? resultDelivered : voterDelivered;
+
+        return findPage(delivered, limit).stream()
+                .map(vote -> new OutboxEvent(vote.getIdVote(), vote.getIdVote(), vote.getDateHeure(),
+                        vote.getElectorId(), vote.getCandidateId(),
+                        vote.getIdVote() <= resultDelivered, vote.getIdVote() <= voterDelivered))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Les événements sont relayés dans l'ordre : acquitter le dernier acquitte
+     * tous les précédents.
+     */
+    @Override
+    public void markDelivered(OutboxDestination destination, List<OutboxEvent> events) {
+        long lastId = events.stream().mapToLong(OutboxEvent::getIdEvent).max().orElse(0L);
+        synchronized (deliveredIds) {
+            if (lastId <= deliveredIds[destination.ordinal()]) {
+                return;
+            }
+            deliveredIds[destination.ordinal()] = lastId;
+            ByteBuffer cursors = ByteBuffer.allocate(deliveredIds.length * 8);
+            for (long id : deliveredIds) {
+                cursors.putLong(id);
+            }
+            cursors.flip();
+            try {
+                cursorsChannel.write(cursors, 0);
+                cursorsChannel.force(false);
+            } catch (IOException e) {
+                // Curseur non persisté : les événements seront rediffusés après redémarrage
+                throw new DataAccessResourceFailureException("Écriture de " + CURSORS_FILE + " impossible", e);
+            }
+        }
+    }
+
+    @Override
+    public void purgeDelivered() {
+        // Les événements sont les votes eux-mêmes : rien à supprimer
+    }
+
+    @PreDestroy
+    @Override
+    public void close() throws IOException {
+        writeLock.lock();
+        try {
+            for (JournalSegment segment : segments) {
+                segment.close();
+            }
+            cursorsChannel.close();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private JournalSegment segment(long index) {
+        return segments.get((int) (index / segmentRecords));
+    }
+
+    private int position(long index) {
+        return (int) (index % segmentRecords);
+    }
+
+    private Path segmentFile(int number) {
+        return directory.resolve(String.format(SEGMENT_FORMAT, number));
+    }
+
+    @FunctionalInterface
+    private interface RecordVisitor {
+        void visit(JournalSegment segment, int position);
+    }
+}
@@ -0,0 +1,169 @@
+package evotingsystem.voteservice.services;
+
+import evotingsystem.voteservice.exceptions.ServiceUnavailableException;
+import evotingsystem.voteservice.feignclients.Elector;
+import evotingsystem.voteservice.feignclients.ElectorClient;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cache local des électeurs connus, pour éviter un appel Feign vers
+ * voter-service à chaque vote. Taille et durée de vie sont configurées
+ * par spring.cache.caffeine.spec.
+ *
+ * Un second cache, à durée de vie plus longue (vote.elector-cache.last-known-spec),
+ * garde le dernier état connu de chaque électeur : il sert de repli lorsque
+ * voter-service est indisponible.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ElectorCacheService {
+
+    public static final String ELECTORS_CACHE = "electors";
+    public static final String LAST_KNOWN_ELECTORS_CACHE = "electors-last-known";
+
+    private static final int PREWARM_PAGE_SIZE = 1000;
+
+    private final ElectorClient electorClient;
+    private final CacheManager cacheManager;
+
+    @Value("${vote.elector-cache.prewarm:false}")
+    private boolean prewarm;
+
+    /**
+     * Résout un électeur : le cache d'abord, puis voter-service. Si voter-service
+     * est indisponible, le dernier état connu est utilisé s'il existe ; sinon la
+     * ServiceUnavailableException est propagée. Un électeur inconnu de
+     * voter-service lève FeignException.NotFound.
+     */
+    public Elector getElector(Long id) {
+        Cache electors = cacheManager.getCache(ELECTORS_CACHE);
+        Elector cached = electors.get(id, Elector.class);
+        if (cached != null) {
+            return cached;
+        }
+
+        try {
+            Elector elector = electorClient.getElectorById(id);
+            if (elector != null) {
+                electors.put(id, elector);
+                lastKnownElectors().put(id, elector);
+            }
+            return elector;
+        } catch (ServiceUnavailableException e) {
+            Elector lastKnown = lastKnownElectors().get(id, Elector.class);
+            if (lastKnown == null) {
+                throw e;
+            }
+            log.debug("voter-service indisponible, électeur {} résolu depuis le dernier état connu", id);
+            return lastKnown;
+        }
+    }
+
+    /**
+     * Résout un ensemble d'électeurs : le cache d'abord, puis un seul appel
+     * groupé vers voter-service pour les absents. Les identifiants inconnus
+     * de voter-service sont absents de la map retournée.
+     */
+    public Map<Long, Elector> getElectors(Collection<Long> ids) {
+        Cache cache = cacheManager.getCache(ELECTORS_CACHE);
+        Map<Long, Elector> electors = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long id : ids) {
+            Elector elector = cache.get(id, Elector.class);
+            if (elector != null) {
+                electors.put(id, elector);
+            } else {
+                missing.add(id);
+            }
+        }
+
+        if (missing.isEmpty()) {
+            return electors;
+        }
+
+        try {
+            for (Elector elector : electorClient.getElectorsByIds(missing)) {
+                cache.put(elector.getIdElector(), elector);
+                lastKnownElectors().put(elector.getIdElector(), elector);
+                electors.put(elector.getIdElector(), elector);
+            }
+        } catch (ServiceUnavailableException e) {
+            // Repli sur le dernier état connu ; un électeur absent ne peut pas être
+            // déclaré inconnu sans voter-service, le lot entier est alors refusé
+            Cache lastKnown = lastKnownElectors();
+            for (Long id : missing) {
+                Elector elector = lastKnown.get(id, Elector.class);
+                if (elector == null) {
+                    throw e;
+                }
+                electors.put(id, elector);
+            }
+        }
+        return electors;
+    }
+
+    /**
+     * Précharge les électeurs par pages (GET /api/electors/page), dans l'ordre
+     * des ID, jusqu'à la taille maximale des caches : la liste électorale n'est
+     * jamais chargée en entier en mémoire.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void prewarm() {
+        if (!prewarm) {
+            return;
+        }
+
+        Cache cache = cacheManager.getCache(ELECTORS_CACHE);
+        Cache lastKnown = lastKnownElectors();
+        long maximum = Math.min(maximumSize(cache), maximumSize(lastKnown));
+        long loaded = 0;
+        long afterId = 0;
+        try {
+            while (loaded < maximum) {
+                int limit = (int) Math.min(PREWARM_PAGE_SIZE, maximum - loaded);
+                List<Elector> page = electorClient.getElectorsPage(afterId, limit);
+                page.forEach(e -> {
+                    cache.put(e.getIdElector(), e);
+                    lastKnown.put(e.getIdElector(), e);
+                });
+                loaded += page.size();
+                if (page.size() < limit) {
+                    break;
+                }
+                afterId = page.get(page.size() - 1).getIdElector();
+            }
+            log.info("Cache des électeurs préchargé : {} électeurs", loaded);
+        } catch (Exception e) {
+            log.warn("Préchargement du cache des électeurs interrompu après {} électeurs : {}", loaded, e.getMessage());
+        }
+    }
+
+    // Au-delà, le préchargement ne ferait qu'évincer les électeurs déjà chargés
+    private static long maximumSize(Cache cache) {
+        if (cache instanceof CaffeineCache caffeine) {
+            return caffeine.getNativeCache().policy().eviction()
+                    .map(eviction -> eviction.getMaximum())
+                    .orElse(Long.MAX_VALUE);
+        }
+        return Long.MAX_VALUE;
+    }
+
+    private Cache lastKnownElectors() {
+        return cacheManager.getCache(LAST_KNOWN_ELECTORS_CACHE);
+    }
+}
@@ -0,0 +1,62 @@
+package evotingsystem.voteservice.services;
+
+import evotingsystem.voteservice.dtos.VoteCastEvent;
+import evotingsystem.voteservice.entities.OutboxDestination;
+import evotingsystem.voteservice.entities.OutboxEvent;
+import evotingsystem.voteservice.feignclients.ElectorClient;
+import evotingsystem.voteservice.feignclients.ResultClient;
+import evotingsystem.voteservice.repositories.VoteStore;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Diffuse les événements VoteCast du moteur de stockage (table vote_outbox ou
+ * journal des votes) vers result-service
+ * (mise à jour des totaux) et voter-service (statut aVote). Chaque destination
+ * reçoit les événements dans l'ordre des identifiants et les acquitte
+ * indépendamment ; un événement non acquitté est renvoyé au passage suivant
+ * (livraison au moins une fois, consommateurs idempotents).
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OutboxRelay {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final VoteStore voteStore;
+    private final ResultClient resultClient;
+    private final ElectorClient electorClient;
+
+    @Scheduled(fixedDelayString = "${vote.outbox.relay-interval-ms:500}",
+               initialDelayString = "${vote.outbox.relay-interval-ms:500}")
+    public void relay() {
+        deliver(OutboxDestination.RESULT_SERVICE, resultClient::onVotesCast);
+        deliver(OutboxDestination.VOTER_SERVICE, electorClient::onVotesCast);
+        voteStore.purgeDelivered();
+    }
+
+    private void deliver(OutboxDestination destination, Consumer<List<VoteCastEvent>> send) {
+        List<OutboxEvent> pending = voteStore.findPendingEvents(destination, BATCH_SIZE);
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        List<VoteCastEvent> events = pending.stream()
+                .map(e -> new VoteCastEvent(e.getIdVote(), e.getDateHeure(), e.getElectorId(), e.getCandidateId()))
+                .collect(Collectors.toList());
+        try {
+            send.accept(events);
+            voteStore.markDelivered(destination, pending);
+        } catch (Exception e) {
+            log.warn("Diffusion de {} événements VoteCast vers {} impossible, nouvel essai au prochain passage : {}",
+                    events.size(), destination.getServiceName(), e.getMessage());
+        }
+    }
+}
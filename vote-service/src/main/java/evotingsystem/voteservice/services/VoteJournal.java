@@ -0,0 +1,130 @@
+package evotingsystem.voteservice.services;
+
+import evotingsystem.voteservice.entities.Vote;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Journal local en ajout seul des votes acceptés en mode write-behind.
+ *
+ * Chaque vote occupe un enregistrement de taille fixe : electorId,
+ * candidateId, dateHeure (secondes et nanosecondes UTC) puis un CRC32 des
+ * champs précédents. Un enregistrement incomplet ou corrompu (arrêt brutal
+ * pendant une écriture) marque la fin du journal et est tronqué à la
+ * relecture.
+ */
+class VoteJournal implements Closeable {
+
+    static final int RECORD_SIZE = 8 + 8 + 8 + 4 + 4;
+
+    private final FileChannel channel;
+
+    VoteJournal(Path file) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        this.channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    /**
+     * Relit les votes journalisés depuis la dernière troncature, coupe une
+     * éventuelle fin d'enregistrement invalide et place la position
+     * d'écriture à la suite.
+     */
+    List<Vote> recover() throws IOException {
+        List<Vote> votes = new ArrayList<>();
+        ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE);
+        long position = 0;
+        while (readRecord(record, position)) {
+            Vote vote = decode(record);
+            if (vote == null) {
+                break;
+            }
+            votes.add(vote);
+            position += RECORD_SIZE;
+        }
+        channel.truncate(position);
+        channel.position(position);
+        return votes;
+    }
+
+    /**
+     * Ajoute les votes en une seule écriture puis attend leur écriture sur
+     * disque (fsync) : au retour, les votes survivent à un arrêt brutal.
+     */
+    void append(List<Vote> votes) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(votes.size() * RECORD_SIZE);
+        for (Vote vote : votes) {
+            encode(vote, buffer);
+        }
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        channel.force(false);
+    }
+
+    /**
+     * Vide le journal une fois tous ses votes enregistrés en base.
+     */
+    void truncate() throws IOException {
+        channel.truncate(0);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private boolean readRecord(ByteBuffer record, long position) throws IOException {
+        record.clear();
+        while (record.hasRemaining()) {
+            if (channel.read(record, position + record.position()) < 0) {
+                return false;
+            }
+        }
+        record.flip();
+        return true;
+    }
+
+    private static void encode(Vote vote, ByteBuffer buffer) {
+        int start = buffer.position();
+        buffer.putLong(vote.getElectorId());
+        buffer.putLong(vote.getCandidateId());
+        buffer.putLong(vote.getDateHeure().toEpochSecond(ZoneOffset.UTC));
+        buffer.putInt(vote.getDateHeure().getNano());
+        buffer.putInt(checksum(buffer, start));
+    }
+
+    private static Vote decode(ByteBuffer record) {
+        long electorId = record.getLong();
+        long candidateId = record.getLong();
+        long epochSecond = record.getLong();
+        int nano = record.getInt();
+        if (record.getInt() != checksum(record, 0) || nano < 0 || nano > 999_999_999) {
+            return null;
+        }
+
+        Vote vote = new Vote();
+        vote.setElectorId(electorId);
+        vote.setCandidateId(candidateId);
+        vote.setDateHeure(LocalDateTime.ofEpochSecond(epochSecond, nano, ZoneOffset.UTC));
+        return vote;
+    }
+
+    private static int checksum(ByteBuffer buffer, int start) {
+        CRC32 crc = new CRC32();
+        crc.update(buffer.slice(start, RECORD_SIZE - 4));
+        return (int) crc.getValue();
+    }
+}
@@ -0,0 +1,87 @@
+package evotingsystem.voteservice.services;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.function.Supplier;
+
+/**
+ * Métriques du pipeline de soumission des votes :
+ * - votes.submit.stage (timer, tag stage) : durée de chaque étape de submitVote
+ * - votes.submitted (compteur, tag outcome) : issue de chaque vote soumis
+ * - votes.ingestion.* : file, lots et conflits du mode write-behind
+ */
+@Component
+public class VoteMetrics {
+
+    public static final String ACCEPTED = "accepted";
+    public static final String ALREADY_VOTED = "already_voted";
+    public static final String INVALID_ELECTOR = "invalid_elector";
+    public static final String ELECTOR_SERVICE_UNAVAILABLE = "elector_service_unavailable";
+    public static final String ELECTOR_CHECK_FAILED = "elector_check_failed";
+    public static final String INGESTION_UNAVAILABLE = "ingestion_unavailable";
+
+    private final MeterRegistry registry;
+    private final Timer electorCheck;
+    private final Timer insert;
+    private final Timer duplicateCheck;
+
+    public VoteMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.electorCheck = stageTimer("elector_check");
+        this.insert = stageTimer("insert");
+        this.duplicateCheck = stageTimer("duplicate_check");
+    }
+
+    public <T> T timeElectorCheck(Supplier<T> stage) {
+        return electorCheck.record(stage);
+    }
+
+    public <T> T timeInsert(Supplier<T> stage) {
+        return insert.record(stage);
+    }
+
+    public <T> T timeDuplicateCheck(Supplier<T> stage) {
+        return duplicateCheck.record(stage);
+    }
+
+    public void countOutcome(String outcome) {
+        countOutcome(outcome, 1);
+    }
+
+    public void countOutcome(String outcome, long amount) {
+        Counter.builder("votes.submitted")
+                .tag("outcome", outcome)
+                .register(registry)
+                .increment(amount);
+    }
+
+    public void registerIngestionQueue(Collection<?> queue) {
+        Gauge.builder("votes.ingestion.queue", queue, Collection::size)
+                .description("Votes acceptés en mode write-behind, pas encore enregistrés en base")
+                .register(registry);
+    }
+
+    public void recordIngestionBatch(int size) {
+        DistributionSummary.builder("votes.ingestion.batch.size")
+                .register(registry)
+                .record(size);
+    }
+
+    public void countIngestionConflicts(long amount) {
+        Counter.builder("votes.ingestion.conflicts")
+                .register(registry)
+                .increment(amount);
+    }
+
+    private Timer stageTimer(String stage) {
+        return Timer.builder("votes.submit.stage")
+                .tag("stage", stage)
+                .register(registry);
+    }
+}
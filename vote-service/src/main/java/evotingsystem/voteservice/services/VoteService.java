@@ -1,13 +1,25 @@
 package evotingsystem.voteservice.services;
 
+import evotingsystem.voteservice.dtos.BatchVoteResponse;
+import evotingsystem.voteservice.dtos.CandidateVoteCount;
+import evotingsystem.voteservice.dtos.MinuteVoteCount;
+import evotingsystem.voteservice.dtos.VoteCountSnapshot;
 import evotingsystem.voteservice.dtos.VoteRequest;
 import evotingsystem.voteservice.dtos.VoteResponse;
 import evotingsystem.voteservice.entities.Vote;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface VoteService {
     VoteResponse submitVote(VoteRequest request);
+    BatchVoteResponse submitVotes(List<VoteRequest> requests);
     List<Vote> listVotes();
     List<Vote> getVotesByCandidate(Long candidateId);
+    List<Vote> getVotesPage(Long afterId, int limit);
+    void streamVotes(Long afterId, Long maxId, Consumer<Vote> consumer);
+    List<CandidateVoteCount> countVotesByCandidate(LocalDateTime from, LocalDateTime to);
+    List<MinuteVoteCount> countVotesByCandidateAndMinute(LocalDateTime from, LocalDateTime to, Long maxId);
+    VoteCountSnapshot getVoteCountSnapshot();
 }
\ No newline at end of file
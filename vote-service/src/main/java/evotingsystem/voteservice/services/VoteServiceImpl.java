@@ -1,65 +1,287 @@
 package evotingsystem.voteservice.services;
 
+import evotingsystem.voteservice.dtos.BatchVoteItemResult;
+import evotingsystem.voteservice.dtos.BatchVoteResponse;
+import evotingsystem.voteservice.dtos.BatchVoteStatus;
+import evotingsystem.voteservice.dtos.CandidateVoteCount;
+import evotingsystem.voteservice.dtos.MinuteVoteCount;
+import evotingsystem.voteservice.dtos.VoteCountSnapshot;
 import evotingsystem.voteservice.dtos.VoteRequest;
 import evotingsystem.voteservice.dtos.VoteResponse;
 import evotingsystem.voteservice.entities.Vote;
 import evotingsystem.voteservice.exceptions.AlreadyVotedException;
 import evotingsystem.voteservice.exceptions.InvalidElectorException;
+import evotingsystem.voteservice.exceptions.ServiceUnavailableException;
 import evotingsystem.voteservice.feignclients.Elector;
-import evotingsystem.voteservice.feignclients.ElectorClient;
-import evotingsystem.voteservice.repositories.VoteRepository;
+import evotingsystem.voteservice.repositories.VoteStore;
+import feign.FeignException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
 
 @Service
 @RequiredArgsConstructor
 public class VoteServiceImpl implements VoteService {
 
-    private final VoteRepository voteRepository;
-    private final ElectorClient electorClient;
+    private static final int MAX_PAGE_SIZE = 10000;
+    private static final int BATCH_SIZE = 1000;
+
+    private final VoteStore voteStore;
+    private final ElectorCacheService electorCacheService;
+    private final VoteMetrics voteMetrics;
+    private final ObjectProvider<WriteBehindVoteWriter> writeBehindVoteWriter;
 
     @Override
     public VoteResponse submitVote(VoteRequest request) {
-        // Vérifier si l'électeur existe
+        // Électeur ayant déjà voté d'après l'index en mémoire : refus sans appel à
+        // voter-service ni tentative d'insertion
+        if (voteMetrics.timeDuplicateCheck(() -> voteStore.isKnownVoter(request.getElectorId()))) {
+            voteMetrics.countOutcome(VoteMetrics.ALREADY_VOTED);
+            throw new AlreadyVotedException("Elector has already voted");
+        }
+
+        // Vérifier si l'électeur existe (cache local, voter-service en cas d'absence).
+        // Seul un électeur inconnu (404) est refusé. Une autre erreur 4xx (requête
+        // ou authentification rejetée par voter-service) n'est pas une erreur de
+        // l'électeur et remonte telle quelle ; voter-service indisponible remonte
+        // en ServiceUnavailableException.
         Elector elector;
         try {
-            elector = electorClient.getElectorById(request.getElectorId());
-        } catch (Exception e) {
+            elector = voteMetrics.timeElectorCheck(() -> electorCacheService.getElector(request.getElectorId()));
+        } catch (FeignException.NotFound e) {
+            elector = null;
+        } catch (FeignException.FeignClientException e) {
+            voteMetrics.countOutcome(VoteMetrics.ELECTOR_CHECK_FAILED);
+            throw e;
+        } catch (ServiceUnavailableException e) {
+            voteMetrics.countOutcome(VoteMetrics.ELECTOR_SERVICE_UNAVAILABLE);
+            throw e;
+        }
+        if (elector == null) {
+            voteMetrics.countOutcome(VoteMetrics.INVALID_ELECTOR);
             throw new InvalidElectorException("Elector not found");
         }
 
-        // Vérifier si l'électeur a déjà voté
-        if (voteRepository.existsByElectorId(request.getElectorId())) {
-            throw new AlreadyVotedException("Elector has already voted");
+        WriteBehindVoteWriter writer = writeBehindVoteWriter.getIfAvailable();
+        if (writer != null) {
+            return submitWriteBehind(writer, request, elector);
+        }
+
+        // Créer et sauvegarder le vote : le moteur de stockage rejette atomiquement
+        // un second vote du même électeur et enregistre l'événement VoteCast avec le vote.
+        Vote vote = new Vote();
+        vote.setElectorId(request.getElectorId());
+        vote.setCandidateId(request.getCandidateId());
+        Vote savedVote;
+        try {
+            savedVote = voteMetrics.timeInsert(() -> voteStore.insert(vote));
+        } catch (DataIntegrityViolationException e) {
+            if (voteMetrics.timeDuplicateCheck(() -> voteStore.existsByElectorId(request.getElectorId()))) {
+                voteMetrics.countOutcome(VoteMetrics.ALREADY_VOTED);
+                throw new AlreadyVotedException("Elector has already voted");
+            }
+            throw e;
         }
+        voteMetrics.countOutcome(VoteMetrics.ACCEPTED);
 
-        // Créer et sauvegarder le vote
+        return voteResponse(savedVote, elector);
+    }
+
+    private VoteResponse submitWriteBehind(WriteBehindVoteWriter writer, VoteRequest request, Elector elector) {
+        // Le vote est acquitté une fois journalisé sur disque ; son idVote n'est
+        // attribué qu'à l'insertion en base, par lots, et reste donc vide ici
         Vote vote = new Vote();
         vote.setElectorId(request.getElectorId());
         vote.setCandidateId(request.getCandidateId());
-        Vote savedVote = voteRepository.save(vote);
+        vote.setDateHeure(LocalDateTime.now());
+        boolean accepted;
+        try {
+            accepted = voteMetrics.timeInsert(() -> writer.submit(vote));
+        } catch (ServiceUnavailableException e) {
+            voteMetrics.countOutcome(VoteMetrics.INGESTION_UNAVAILABLE);
+            throw e;
+        }
+        if (!accepted) {
+            voteMetrics.countOutcome(VoteMetrics.ALREADY_VOTED);
+            throw new AlreadyVotedException("Elector has already voted");
+        }
+        voteMetrics.countOutcome(VoteMetrics.ACCEPTED);
+
+        return voteResponse(vote, elector);
+    }
 
-        // Créer la réponse
+    private VoteResponse voteResponse(Vote vote, Elector elector) {
         VoteResponse response = new VoteResponse();
-        response.setIdVote(savedVote.getIdVote());
-        response.setDateHeure(savedVote.getDateHeure());
-        response.setElectorId(savedVote.getElectorId());
+        response.setIdVote(vote.getIdVote());
+        response.setDateHeure(vote.getDateHeure());
+        response.setElectorId(vote.getElectorId());
         response.setElectorName(elector.getNom() + " " + elector.getPrenom());
-        response.setCandidateId(savedVote.getCandidateId());
+        response.setCandidateId(vote.getCandidateId());
         response.setMessage("Vote submitted successfully");
-
         return response;
     }
 
+    @Override
+    public BatchVoteResponse submitVotes(List<VoteRequest> requests) {
+        BatchVoteItemResult[] results = new BatchVoteItemResult[requests.size()];
+
+        // Écarter les requêtes incomplètes et les doublons internes au lot
+        Map<Long, Integer> positions = new LinkedHashMap<>();
+        for (int i = 0; i < requests.size(); i++) {
+            VoteRequest request = requests.get(i);
+            if (request.getElectorId() == null || request.getCandidateId() == null) {
+                results[i] = itemResult(request, BatchVoteStatus.INVALID_REQUEST);
+            } else if (positions.putIfAbsent(request.getElectorId(), i) != null) {
+                results[i] = itemResult(request, BatchVoteStatus.DUPLICATE_IN_BATCH);
+            }
+        }
+
+        // Vérifier les électeurs et les votes existants par tranches
+        List<Long> electorIds = new ArrayList<>(positions.keySet());
+        for (int from = 0; from < electorIds.size(); from += BATCH_SIZE) {
+            List<Long> chunk = electorIds.subList(from, Math.min(from + BATCH_SIZE, electorIds.size()));
+            Map<Long, Elector> electors = electorCacheService.getElectors(chunk);
+            // Votes connus de l'index en mémoire ; un vote d'une autre instance est écarté à l'insertion
+            Set<Long> alreadyVoted = new HashSet<>();
+            chunk.stream().filter(voteStore::isKnownVoter).forEach(alreadyVoted::add);
+
+            List<Vote> pending = new ArrayList<>(chunk.size());
+            for (Long electorId : chunk) {
+                int position = positions.get(electorId);
+                VoteRequest request = requests.get(position);
+                if (!electors.containsKey(electorId)) {
+                    results[position] = itemResult(request, BatchVoteStatus.INVALID_ELECTOR);
+                } else if (alreadyVoted.contains(electorId)) {
+                    results[position] = itemResult(request, BatchVoteStatus.ALREADY_VOTED);
+                } else {
+                    Vote vote = new Vote();
+                    vote.setElectorId(electorId);
+                    vote.setCandidateId(request.getCandidateId());
+                    vote.setDateHeure(LocalDateTime.now());
+                    pending.add(vote);
+                }
+            }
+
+            insertPending(pending, positions, requests, results);
+        }
+
+        Map<BatchVoteStatus, Long> outcomes = new EnumMap<>(BatchVoteStatus.class);
+        for (BatchVoteItemResult result : results) {
+            outcomes.merge(result.getStatus(), 1L, Long::sum);
+        }
+        outcomes.forEach((status, count) -> voteMetrics.countOutcome(status.name().toLowerCase(), count));
+
+        int accepted = outcomes.getOrDefault(BatchVoteStatus.ACCEPTED, 0L).intValue();
+        return new BatchVoteResponse(accepted, results.length - accepted, Arrays.asList(results));
+    }
+
+    private void insertPending(List<Vote> pending, Map<Long, Integer> positions,
+                               List<VoteRequest> requests, BatchVoteItemResult[] results) {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        WriteBehindVoteWriter writer = writeBehindVoteWriter.getIfAvailable();
+        if (writer != null) {
+            submitWriteBehind(writer, pending, positions, requests, results);
+            return;
+        }
+
+        try {
+            voteStore.insertAll(pending);
+        } catch (DataIntegrityViolationException e) {
+            // Un vote concurrent a devancé le lot : repli ligne par ligne pour isoler le conflit
+            for (Vote vote : pending) {
+                int position = positions.get(vote.getElectorId());
+                try {
+                    voteStore.insertAll(List.of(vote));
+                } catch (DataIntegrityViolationException failure) {
+                    // Comme pour le vote unitaire, seul un vote existant confirme le doublon
+                    boolean duplicate = voteMetrics.timeDuplicateCheck(
+                            () -> voteStore.existsByElectorId(vote.getElectorId()));
+                    results[position] = itemResult(requests.get(position),
+                            duplicate ? BatchVoteStatus.ALREADY_VOTED : BatchVoteStatus.FAILED);
+                }
+            }
+        }
+
+        for (Vote vote : pending) {
+            int position = positions.get(vote.getElectorId());
+            if (results[position] == null) {
+                results[position] = new BatchVoteItemResult(vote.getElectorId(), vote.getCandidateId(),
+                        vote.getIdVote(), vote.getDateHeure(), BatchVoteStatus.ACCEPTED);
+            }
+        }
+    }
+
+    private void submitWriteBehind(WriteBehindVoteWriter writer, List<Vote> pending, Map<Long, Integer> positions,
+                                   List<VoteRequest> requests, BatchVoteItemResult[] results) {
+        // Mêmes réservations que le vote unitaire : un électeur dont le vote est
+        // acquitté mais pas encore en base est refusé. Les idVote restent vides.
+        Set<Long> accepted = new HashSet<>();
+        voteMetrics.timeInsert(() -> writer.submitAll(pending))
+                .forEach(vote -> accepted.add(vote.getElectorId()));
+        for (Vote vote : pending) {
+            int position = positions.get(vote.getElectorId());
+            results[position] = accepted.contains(vote.getElectorId())
+                    ? new BatchVoteItemResult(vote.getElectorId(), vote.getCandidateId(),
+                            null, vote.getDateHeure(), BatchVoteStatus.ACCEPTED)
+                    : itemResult(requests.get(position), BatchVoteStatus.ALREADY_VOTED);
+        }
+    }
+
+    private BatchVoteItemResult itemResult(VoteRequest request, BatchVoteStatus status) {
+        return new BatchVoteItemResult(request.getElectorId(), request.getCandidateId(), null, null, status);
+    }
+
     @Override
     public List<Vote> listVotes() {
-        return voteRepository.findAll();
+        return voteStore.findAll();
     }
 
     @Override
     public List<Vote> getVotesByCandidate(Long candidateId) {
-        return voteRepository.findByCandidateId(candidateId);
+        return voteStore.findByCandidateId(candidateId);
+    }
+
+    @Override
+    public List<Vote> getVotesPage(Long afterId, int limit) {
+        // Pagination par clé : pas d'OFFSET, coût constant quelle que soit la page
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        return voteStore.findPage(afterId, pageSize);
+    }
+
+    @Override
+    public void streamVotes(Long afterId, Long maxId, Consumer<Vote> consumer) {
+        voteStore.stream(afterId, maxId, consumer);
+    }
+
+    @Override
+    public List<CandidateVoteCount> countVotesByCandidate(LocalDateTime from, LocalDateTime to) {
+        // Une ligne par candidat (GROUP BY candidate_id côté base pour le moteur jpa)
+        return voteStore.countByCandidate(from, to);
+    }
+
+    @Override
+    public List<MinuteVoteCount> countVotesByCandidateAndMinute(LocalDateTime from, LocalDateTime to, Long maxId) {
+        // Une ligne par candidat et par minute
+        return voteStore.countByCandidateAndMinute(from, to, maxId);
+    }
+
+    @Override
+    public VoteCountSnapshot getVoteCountSnapshot() {
+        return voteStore.countSnapshot();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,374 @@
+package evotingsystem.voteservice.services;
+
+import evotingsystem.voteservice.entities.Vote;
+import evotingsystem.voteservice.exceptions.ServiceUnavailableException;
+import evotingsystem.voteservice.repositories.VoteStore;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+/**
+ * Ingestion des votes en mode write-behind (vote.ingestion.mode=write-behind).
+ *
+ * Un vote accepté est mis en file. Le thread de journalisation vide la file
+ * par lots, ajoute chaque lot au journal local (VoteJournal) avec un seul
+ * fsync et acquitte les requêtes en attente. Le thread d'écriture en base
+ * regroupe ensuite les lots journalisés et les insère en une transaction
+ * (votes et événements VoteCast de l'outbox), sans retarder les
+ * acquittements. Au démarrage, les votes journalisés mais absents de la base
+ * sont réinsérés.
+ *
+ * Au plus vote.ingestion.queue-capacity votes peuvent être acceptés sans être
+ * encore en base ; au-delà, les votes sont refusés (503).
+ *
+ * Un seul vote par électeur : l'électeur est réservé dans pendingElectorIds
+ * jusqu'à l'enregistrement en base de son vote, et la base est consultée
+ * avant la mise en file. Entre plusieurs instances, la contrainte d'unicité
+ * reste l'arbitre : le premier vote enregistré l'emporte et les suivants sont
+ * écartés (votes.ingestion.conflicts).
+ */
+@Service
+@ConditionalOnProperty(name = "vote.ingestion.mode", havingValue = "write-behind")
+@RequiredArgsConstructor
+@Slf4j
+public class WriteBehindVoteWriter {
+
+    private static final long INITIAL_RETRY_DELAY_MS = 100;
+    private static final long MAX_RETRY_DELAY_MS = 5000;
+
+    private final VoteStore voteStore;
+    private final VoteMetrics voteMetrics;
+
+    @Value("${vote.ingestion.journal-dir:data/vote-journal}")
+    private Path journalDir;
+
+    @Value("${vote.ingestion.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${vote.ingestion.max-batch-size:500}")
+    private int maxBatchSize;
+
+    @Value("${vote.ingestion.ack-timeout-ms:5000}")
+    private long ackTimeoutMs;
+
+    private final Set<Long> pendingElectorIds = ConcurrentHashMap.newKeySet();
+    private final BlockingQueue<PendingVote> queue = new LinkedBlockingQueue<>();
+    private final BlockingDeque<List<Vote>> journaledBatches = new LinkedBlockingDeque<>();
+    private Semaphore capacity;
+    private VoteJournal journal;
+    private Thread journalWriter;
+    private Thread databaseWriter;
+    private volatile boolean running;
+
+    // Compteurs protégés par le verrou du journal : le journal n'est tronqué que
+    // lorsque tous les votes qu'il contient sont en base
+    private long journaledVotes;
+    private long storedVotes;
+    // Votes journalisés mais non insérés : le journal n'est plus tronqué, ils seront rejoués au démarrage
+    private boolean journalKeepsUnstoredVotes;
+
+    @PostConstruct
+    void start() throws IOException {
+        capacity = new Semaphore(queueCapacity);
+        journal = new VoteJournal(journalDir.resolve("votes.journal"));
+        voteMetrics.registerIngestionQueue(pendingElectorIds);
+
+        // Votes acquittés avant un arrêt brutal mais pas encore en base
+        List<Vote> unstored = journal.recover();
+        if (!unstored.isEmpty()) {
+            log.info("Rejeu de {} votes du journal d'ingestion", unstored.size());
+            for (int from = 0; from < unstored.size(); from += maxBatchSize) {
+                List<Vote> chunk = unstored.subList(from, Math.min(from + maxBatchSize, unstored.size()));
+                Set<Long> stored = new HashSet<>(voteStore.findVotedElectorIds(
+                        chunk.stream().map(Vote::getElectorId).collect(Collectors.toList())));
+                insert(chunk.stream().filter(vote -> !stored.contains(vote.getElectorId())).collect(Collectors.toList()));
+            }
+            journal.truncate();
+        }
+
+        running = true;
+        journalWriter = new Thread(this::writeJournal, "vote-journal-writer");
+        databaseWriter = new Thread(this::writeDatabase, "vote-database-writer");
+        journalWriter.start();
+        databaseWriter.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException, IOException {
+        // Les deux threads vident leur file avant de s'arrêter
+        running = false;
+        journalWriter.join(TimeUnit.SECONDS.toMillis(30));
+        databaseWriter.join(TimeUnit.SECONDS.toMillis(30));
+        journal.close();
+    }
+
+    /**
+     * Met le vote en file et attend qu'il soit journalisé sur disque.
+     *
+     * @return false si l'électeur a déjà voté (vote en base ou en attente)
+     */
+    public boolean submit(Vote vote) {
+        Long electorId = vote.getElectorId();
+        if (!pendingElectorIds.add(electorId)) {
+            return false;
+        }
+        if (voteStore.existsByElectorId(electorId)) {
+            pendingElectorIds.remove(electorId);
+            return false;
+        }
+        if (!running || !capacity.tryAcquire()) {
+            pendingElectorIds.remove(electorId);
+            throw new ServiceUnavailableException("File d'ingestion des votes pleine", null);
+        }
+
+        PendingVote pending = new PendingVote(vote, new CompletableFuture<>());
+        queue.add(pending);
+        awaitJournaled(pending.journaled());
+        return true;
+    }
+
+    /**
+     * Met en file les votes d'un lot, avec les mêmes réservations que submit(),
+     * et attend qu'ils soient tous journalisés sur disque.
+     *
+     * @return les votes acceptés ; les autres électeurs ont déjà voté (vote en base ou en attente)
+     */
+    public List<Vote> submitAll(List<Vote> votes) {
+        List<Vote> reserved = new ArrayList<>(votes.size());
+        for (Vote vote : votes) {
+            if (pendingElectorIds.add(vote.getElectorId())) {
+                reserved.add(vote);
+            }
+        }
+        if (reserved.isEmpty()) {
+            return reserved;
+        }
+        Set<Long> stored = new HashSet<>(voteStore.findVotedElectorIds(
+                reserved.stream().map(Vote::getElectorId).collect(Collectors.toList())));
+        List<Vote> accepted = new ArrayList<>(reserved.size());
+        for (Vote vote : reserved) {
+            if (stored.contains(vote.getElectorId())) {
+                pendingElectorIds.remove(vote.getElectorId());
+            } else {
+                accepted.add(vote);
+            }
+        }
+        if (accepted.isEmpty()) {
+            return accepted;
+        }
+        if (!running || !capacity.tryAcquire(accepted.size())) {
+            accepted.forEach(vote -> pendingElectorIds.remove(vote.getElectorId()));
+            throw new ServiceUnavailableException("File d'ingestion des votes pleine", null);
+        }
+
+        List<PendingVote> pending = accepted.stream()
+                .map(vote -> new PendingVote(vote, new CompletableFuture<>()))
+                .collect(Collectors.toList());
+        queue.addAll(pending);
+        awaitJournaled(CompletableFuture.allOf(pending.stream()
+                .map(PendingVote::journaled)
+                .toArray(CompletableFuture[]::new)));
+        return accepted;
+    }
+
+    private void awaitJournaled(CompletableFuture<?> journaled) {
+        try {
+            journaled.get(ackTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            throw new ServiceUnavailableException("Journal des votes indisponible", e.getCause());
+        } catch (TimeoutException e) {
+            // Le vote reste en file : un nouvel essai du client sera refusé s'il a abouti
+            throw new ServiceUnavailableException("Journalisation du vote trop lente", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Journalisation du vote interrompue", e);
+        }
+    }
+
+    private void writeJournal() {
+        List<PendingVote> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingVote first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, maxBatchSize - 1);
+                journalBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void journalBatch(List<PendingVote> batch) {
+        List<Vote> votes = batch.stream().map(PendingVote::vote).collect(Collectors.toList());
+
+        // Group commit : une écriture et un fsync pour tout le lot, puis acquittement
+        try {
+            synchronized (journal) {
+                journal.append(votes);
+                journaledVotes += votes.size();
+            }
+        } catch (IOException e) {
+            log.error("Écriture de {} votes dans le journal d'ingestion impossible", votes.size(), e);
+            for (PendingVote pending : batch) {
+                release(pending.vote());
+                pending.journaled().completeExceptionally(e);
+            }
+            return;
+        }
+        batch.forEach(pending -> pending.journaled().complete(null));
+        voteMetrics.recordIngestionBatch(votes.size());
+        journaledBatches.add(votes);
+    }
+
+    private void writeDatabase() {
+        long retryDelay = INITIAL_RETRY_DELAY_MS;
+        while (journalWriter.isAlive() || !journaledBatches.isEmpty()) {
+            try {
+                List<Vote> first = journaledBatches.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                // Regrouper les lots journalisés pendant l'insertion précédente
+                List<Vote> votes = new ArrayList<>(first);
+                List<Vote> next;
+                while (votes.size() < maxBatchSize && (next = journaledBatches.poll()) != null) {
+                    votes.addAll(next);
+                }
+                try {
+                    storeBatch(votes);
+                    retryDelay = INITIAL_RETRY_DELAY_MS;
+                } catch (RuntimeException e) {
+                    if (!running) {
+                        synchronized (journal) {
+                            journalKeepsUnstoredVotes = true;
+                        }
+                        log.error("{} votes journalisés non enregistrés en base, rejoués au prochain démarrage",
+                                votes.size(), e);
+                        continue;
+                    }
+                    // Le lot reste réservé (électeurs, capacité) et repasse avant les lots suivants
+                    journaledBatches.addFirst(votes);
+                    log.error("Échec inattendu de l'écriture de {} votes en base, nouvel essai dans {} ms",
+                            votes.size(), retryDelay, e);
+                    retryDelay = backOff(retryDelay);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void storeBatch(List<Vote> votes) throws InterruptedException {
+        if (!insertWithRetry(votes)) {
+            synchronized (journal) {
+                journalKeepsUnstoredVotes = true;
+            }
+            return;
+        }
+        votes.forEach(this::release);
+
+        synchronized (journal) {
+            storedVotes += votes.size();
+            if (storedVotes == journaledVotes && !journalKeepsUnstoredVotes) {
+                try {
+                    journal.truncate();
+                } catch (IOException e) {
+                    log.warn("Troncature du journal d'ingestion impossible, rejeu idempotent au prochain démarrage", e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Insère le lot en base, en réessayant tant que la base est indisponible.
+     * À l'arrêt, les votes restants sont laissés au journal pour le prochain
+     * démarrage.
+     */
+    private boolean insertWithRetry(List<Vote> votes) throws InterruptedException {
+        long delay = INITIAL_RETRY_DELAY_MS;
+        while (true) {
+            try {
+                insert(votes);
+                return true;
+            } catch (DataAccessException e) {
+                if (!running) {
+                    log.warn("{} votes journalisés non enregistrés en base, rejoués au prochain démarrage", votes.size());
+                    return false;
+                }
+                log.warn("Insertion de {} votes impossible, nouvel essai dans {} ms : {}",
+                        votes.size(), delay, e.getMessage());
+                delay = backOff(delay);
+            }
+        }
+    }
+
+    /**
+     * Attend delay ms et renvoie l'attente suivante, doublée jusqu'à MAX_RETRY_DELAY_MS.
+     */
+    private static long backOff(long delay) throws InterruptedException {
+        Thread.sleep(delay);
+        return Math.min(delay * 2, MAX_RETRY_DELAY_MS);
+    }
+
+    private void insert(List<Vote> votes) {
+        if (votes.isEmpty()) {
+            return;
+        }
+        try {
+            voteStore.insertAll(votes);
+        } catch (DataIntegrityViolationException e) {
+            // Vote déjà en base (autre instance) : repli ligne par ligne, le vote déjà enregistré l'emporte
+            long conflicts = 0;
+            for (Vote vote : votes) {
+                try {
+                    voteStore.insertAll(List.of(vote));
+                } catch (DataIntegrityViolationException duplicate) {
+                    conflicts++;
+                }
+            }
+            if (conflicts > 0) {
+                voteMetrics.countIngestionConflicts(conflicts);
+            }
+        }
+    }
+
+    private void release(Vote vote) {
+        pendingElectorIds.remove(vote.getElectorId());
+        capacity.release();
+    }
+
+    private record PendingVote(Vote vote, CompletableFuture<Void> journaled) {
+    }
+}
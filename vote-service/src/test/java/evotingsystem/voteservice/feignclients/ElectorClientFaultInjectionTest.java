@@ -0,0 +1,174 @@
+package evotingsystem.voteservice.feignclients;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import evotingsystem.voteservice.dtos.VoteRequest;
+import evotingsystem.voteservice.exceptions.InvalidElectorException;
+import evotingsystem.voteservice.exceptions.ServiceUnavailableException;
+import evotingsystem.voteservice.services.ElectorCacheService;
+import evotingsystem.voteservice.services.VoteService;
+import feign.FeignException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Injection de pannes : voter-service est un bouchon WireMock lent, en erreur
+ * ou renvoyant 404, et vote-service doit distinguer électeur inconnu et
+ * service indisponible.
+ */
+@SpringBootTest(properties = {
+        "spring.cloud.discovery.enabled=true",
+        "spring.cloud.openfeign.client.config.default.read-timeout=1000",
+        "resilience4j.circuitbreaker.configs.default.sliding-window-size=4",
+        "resilience4j.circuitbreaker.configs.default.minimum-number-of-calls=4",
+        "resilience4j.circuitbreaker.configs.default.wait-duration-in-open-state=1m",
+        "resilience4j.bulkhead.instances.voter-service.max-concurrent-calls=2",
+        "resilience4j.bulkhead.instances.voter-service.max-wait-duration=0"
+})
+class ElectorClientFaultInjectionTest {
+
+    private static final WireMockServer VOTER_SERVICE = new WireMockServer(options().dynamicPort());
+
+    static {
+        VOTER_SERVICE.start();
+    }
+
+    @DynamicPropertySource
+    static void voterServiceStub(DynamicPropertyRegistry registry) {
+        registry.add("spring.cloud.discovery.client.simple.instances.voter-service[0].uri", VOTER_SERVICE::baseUrl);
+    }
+
+    @AfterAll
+    static void stopStub() {
+        VOTER_SERVICE.stop();
+    }
+
+    @Autowired
+    private VoteService voteService;
+
+    @Autowired
+    private ElectorCacheService electorCacheService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+
+    @BeforeEach
+    void setUp() {
+        VOTER_SERVICE.resetAll();
+        circuitBreakerRegistry.getAllCircuitBreakers().forEach(CircuitBreaker::reset);
+        cacheManager.getCache(ElectorCacheService.ELECTORS_CACHE).clear();
+        cacheManager.getCache(ElectorCacheService.LAST_KNOWN_ELECTORS_CACHE).clear();
+    }
+
+    @Test
+    void unknownElectorIsNotFoundAndDoesNotOpenTheCircuit() {
+        VOTER_SERVICE.stubFor(get(urlPathMatching("/api/electors/\\d+")).willReturn(notFound()));
+
+        for (int i = 0; i < 6; i++) {
+            long electorId = 3000L + i;
+            assertThrows(InvalidElectorException.class,
+                    () -> voteService.submitVote(new VoteRequest(electorId, 1L)));
+        }
+        VOTER_SERVICE.verify(6, getRequestedFor(urlPathMatching("/api/electors/\\d+")));
+    }
+
+    @Test
+    void rejectedElectorCheckIsNotAnUnknownElector() {
+        VOTER_SERVICE.stubFor(get(urlPathMatching("/api/electors/\\d+")).willReturn(forbidden()));
+
+        assertThrows(FeignException.Forbidden.class,
+                () -> voteService.submitVote(new VoteRequest(3500L, 1L)));
+    }
+
+    @Test
+    void slowVoterServiceTimesOutAsUnavailable() {
+        VOTER_SERVICE.stubFor(get(urlPathMatching("/api/electors/\\d+"))
+                .willReturn(okJson(electorJson(3100L)).withFixedDelay(3000)));
+
+        long start = System.nanoTime();
+        assertThrows(ServiceUnavailableException.class,
+                () -> voteService.submitVote(new VoteRequest(3100L, 1L)));
+        assertTrue((System.nanoTime() - start) / 1_000_000 < 2500, "le timeout de lecture doit couper l'appel");
+    }
+
+    @Test
+    void failingVoterServiceOpensTheCircuitAndFailsFast() {
+        VOTER_SERVICE.stubFor(get(urlPathMatching("/api/electors/\\d+")).willReturn(serverError()));
+
+        for (int i = 0; i < 8; i++) {
+            long electorId = 3200L + i;
+            assertThrows(ServiceUnavailableException.class,
+                    () -> voteService.submitVote(new VoteRequest(electorId, 1L)));
+        }
+        // Circuit ouvert après 4 échecs : les appels suivants n'atteignent plus voter-service
+        VOTER_SERVICE.verify(4, getRequestedFor(urlPathMatching("/api/electors/\\d+")));
+    }
+
+    @Test
+    void lastKnownElectorIsUsedWhenVoterServiceIsDown() {
+        VOTER_SERVICE.stubFor(get(urlPathEqualTo("/api/electors/3300")).willReturn(okJson(electorJson(3300L))));
+        electorCacheService.getElector(3300L);
+        cacheManager.getCache(ElectorCacheService.ELECTORS_CACHE).clear();
+
+        VOTER_SERVICE.stubFor(get(urlPathEqualTo("/api/electors/3300")).willReturn(serviceUnavailable()));
+
+        assertNotNull(voteService.submitVote(new VoteRequest(3300L, 1L)).getIdVote());
+    }
+
+    @Test
+    void bulkheadRejectsCallsBeyondTheConcurrencyLimit() throws Exception {
+        VOTER_SERVICE.stubFor(get(urlPathMatching("/api/electors/\\d+"))
+                .willReturn(okJson(electorJson(3400L)).withFixedDelay(200)));
+
+        ExecutorService pool = Executors.newFixedThreadPool(6);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> calls = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            long electorId = 3400L + i;
+            calls.add(pool.submit(() -> {
+                start.await();
+                try {
+                    electorCacheService.getElector(electorId);
+                    return true;
+                } catch (ServiceUnavailableException e) {
+                    return false;
+                }
+            }));
+        }
+        start.countDown();
+
+        long accepted = 0;
+        for (Future<Boolean> call : calls) {
+            accepted += call.get() ? 1 : 0;
+        }
+        pool.shutdown();
+
+        assertTrue(accepted >= 1 && accepted <= 2, "au plus 2 appels simultanés vers voter-service : " + accepted);
+    }
+
+    private static String electorJson(long id) {
+        return "{\"idElector\":" + id + ",\"nom\":\"Dupont\",\"prenom\":\"Jean\","
+                + "\"dateNaissance\":\"1990-05-15\",\"identifiantSecurise\":\"SEC" + id + "\",\"aVote\":false}";
+    }
+}
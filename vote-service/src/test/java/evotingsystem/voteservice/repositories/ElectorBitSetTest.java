@@ -0,0 +1,63 @@
+package evotingsystem.voteservice.repositories;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ElectorBitSetTest {
+
+    @Test
+    void tenMillionElectorsFitInAboutOneMegabyte() {
+        ElectorBitSet electors = new ElectorBitSet();
+        for (long electorId = 1; electorId <= 10_000_000; electorId++) {
+            electors.add(electorId);
+        }
+
+        assertEquals(10_000_000, electors.cardinality());
+        assertTrue(electors.contains(9_999_999L));
+        assertFalse(electors.contains(10_000_001L));
+        // 10 000 001 bits = 156 251 mots de 64 bits (1,25 Mo), plus la marge d'agrandissement
+        assertTrue(electors.sizeInBytes() <= 1_400_000, electors.sizeInBytes() + " octets");
+    }
+
+    @Test
+    void concurrentAddsWhileGrowingLoseNoElector() throws Exception {
+        ElectorBitSet electors = new ElectorBitSet();
+        int threads = 8;
+        int perThread = 200_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int offset = t;
+            futures.add(executor.submit(() -> {
+                start.await();
+                // Identifiants entrelacés entre threads : le tableau est agrandi pendant les ajouts
+                for (long i = 0; i < perThread; i++) {
+                    electors.add(i * threads + offset);
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        assertEquals((long) threads * perThread, electors.cardinality());
+        for (long electorId = 0; electorId < (long) threads * perThread; electorId++) {
+            assertTrue(electors.contains(electorId), "électeur " + electorId);
+        }
+        assertFalse(electors.add(42L));
+        assertTrue(electors.add(-1L));
+        assertTrue(electors.contains(-1L));
+    }
+}
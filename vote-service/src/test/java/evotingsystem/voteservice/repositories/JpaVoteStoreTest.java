@@ -0,0 +1,40 @@
+package evotingsystem.voteservice.repositories;
+
+import evotingsystem.voteservice.dtos.CandidateVoteCount;
+import evotingsystem.voteservice.dtos.MinuteVoteCount;
+import evotingsystem.voteservice.dtos.VoteCountSnapshot;
+import evotingsystem.voteservice.entities.Vote;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class JpaVoteStoreTest {
+
+    @Autowired
+    private VoteStore voteStore;
+
+    @Test
+    void countSnapshotReportsIdsLeftByRolledBackInserts() {
+        Vote first = voteStore.insert(new Vote(null, null, 7101L, 1L, null));
+        // Insertion refusée par la contrainte d'unicité : son identifiant est consommé
+        assertThrows(DataIntegrityViolationException.class,
+                () -> voteStore.insert(new Vote(null, null, 7101L, 2L, null)));
+        Vote second = voteStore.insert(new Vote(null, null, 7102L, 2L, null));
+        assertTrue(second.getIdVote() > first.getIdVote() + 1);
+
+        VoteCountSnapshot snapshot = voteStore.countSnapshot();
+
+        assertTrue(snapshot.getLastVoteId() >= second.getIdVote());
+        assertTrue(snapshot.getMissingIds().stream().anyMatch(range ->
+                range.getFromId() == first.getIdVote() + 1 && range.getToId() == second.getIdVote() - 1));
+        long missing = snapshot.getMissingIds().stream().mapToLong(range -> range.getToId() - range.getFromId() + 1).sum();
+        long counted = snapshot.getCounts().stream().mapToLong(CandidateVoteCount::getTotalVotes).sum();
+        assertEquals(snapshot.getLastVoteId(), counted + missing);
+        assertEquals(counted, snapshot.getCountsPerMinute().stream().mapToLong(MinuteVoteCount::getTotalVotes).sum());
+        assertTrue(snapshot.getMissingIds().stream().allMatch(range -> range.getFromId() <= range.getToId()));
+    }
+}
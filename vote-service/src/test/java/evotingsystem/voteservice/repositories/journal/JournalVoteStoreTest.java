@@ -0,0 +1,94 @@
+package evotingsystem.voteservice.repositories.journal;
+
+import evotingsystem.voteservice.dtos.CandidateVoteCount;
+import evotingsystem.voteservice.dtos.VoteCountSnapshot;
+import evotingsystem.voteservice.entities.OutboxDestination;
+import evotingsystem.voteservice.entities.Vote;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JournalVoteStoreTest {
+
+    private static final int SEGMENT_RECORDS = 4;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void votesSurviveRestartAcrossSegments() throws IOException {
+        try (JournalVoteStore store = new JournalVoteStore(dir, SEGMENT_RECORDS)) {
+            for (long electorId = 1; electorId <= 10; electorId++) {
+                store.insert(vote(electorId, electorId % 3 + 1));
+            }
+            store.markDelivered(OutboxDestination.RESULT_SERVICE, store.findPendingEvents(OutboxDestination.RESULT_SERVICE, 6));
+        }
+        assertTrue(Files.exists(dir.resolve("votes-00000002.seg")));
+
+        try (JournalVoteStore store = new JournalVoteStore(dir, SEGMENT_RECORDS)) {
+            assertEquals(10, store.count());
+            assertTrue(store.existsByElectorId(7L));
+            assertFalse(store.existsByElectorId(11L));
+            assertEquals(List.of(6L, 7L, 8L), store.findPage(5L, 3).stream().map(Vote::getIdVote).toList());
+            List<Long> streamed = new ArrayList<>();
+            store.stream(3L, 5L, vote -> streamed.add(vote.getIdVote()));
+            assertEquals(List.of(4L, 5L), streamed);
+            VoteCountSnapshot snapshot = store.countSnapshot();
+            assertEquals(10L, snapshot.getLastVoteId());
+            assertTrue(snapshot.getMissingIds().isEmpty());
+            assertEquals(List.of(3L, 4L, 3L), snapshot.getCounts().stream().map(CandidateVoteCount::getTotalVotes).toList());
+            assertEquals(7L, store.findPendingEvents(OutboxDestination.RESULT_SERVICE, 100).get(0).getIdEvent());
+            assertEquals(10, store.findPendingEvents(OutboxDestination.VOTER_SERVICE, 100).size());
+            assertThrows(DataIntegrityViolationException.class, () -> store.insert(vote(3L, 1L)));
+            assertEquals(11L, store.insert(vote(11L, 1L)).getIdVote());
+        }
+    }
+
+    @Test
+    void duplicateElectorRejectsWholeBatch() throws IOException {
+        try (JournalVoteStore store = new JournalVoteStore(dir, SEGMENT_RECORDS)) {
+            store.insert(vote(1L, 1L));
+            assertThrows(DataIntegrityViolationException.class,
+                    () -> store.insertAll(List.of(vote(2L, 1L), vote(1L, 2L))));
+            assertEquals(1, store.count());
+            assertFalse(store.existsByElectorId(2L));
+        }
+    }
+
+    @Test
+    void tornRecordMarksTheEndOfTheJournal() throws IOException {
+        try (JournalVoteStore store = new JournalVoteStore(dir, SEGMENT_RECORDS)) {
+            store.insertAll(List.of(vote(1L, 1L), vote(2L, 2L), vote(3L, 3L)));
+        }
+        // Arrêt brutal pendant l'écriture du troisième vote : le dernier octet du CRC est faux
+        try (FileChannel channel = FileChannel.open(dir.resolve("votes-00000000.seg"),
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer lastByte = ByteBuffer.allocate(1);
+            channel.read(lastByte, 3L * JournalSegment.RECORD_SIZE - 1);
+            lastByte.put(0, (byte) ~lastByte.get(0)).rewind();
+            channel.write(lastByte, 3L * JournalSegment.RECORD_SIZE - 1);
+        }
+
+        try (JournalVoteStore store = new JournalVoteStore(dir, SEGMENT_RECORDS)) {
+            assertEquals(2, store.count());
+            assertFalse(store.existsByElectorId(3L));
+            assertEquals(3L, store.insert(vote(3L, 1L)).getIdVote());
+        }
+    }
+
+    private static Vote vote(long electorId, long candidateId) {
+        return new Vote(null, LocalDateTime.now(), electorId, candidateId, null);
+    }
+}
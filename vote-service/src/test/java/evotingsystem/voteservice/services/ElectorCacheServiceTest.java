@@ -0,0 +1,60 @@
+package evotingsystem.voteservice.services;
+
+import evotingsystem.voteservice.feignclients.Elector;
+import evotingsystem.voteservice.feignclients.ElectorClient;
+import evotingsystem.voteservice.feignclients.ResultClient;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest(properties = {
+        "vote.elector-cache.prewarm=true",
+        "spring.cache.caffeine.spec=maximumSize=1500"
+})
+class ElectorCacheServiceTest {
+
+    @Autowired
+    private ElectorCacheService electorCacheService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @MockBean
+    private ElectorClient electorClient;
+
+    @MockBean
+    private ResultClient resultClient;
+
+    @Test
+    void prewarmLoadsPagesUpToTheCacheMaximumSize() {
+        reset(electorClient);
+        when(electorClient.getElectorsPage(anyLong(), anyInt()))
+                .thenAnswer(i -> electors(i.getArgument(0), i.getArgument(1)));
+
+        electorCacheService.prewarm();
+
+        // 1 000 puis 500 électeurs : le cache principal est borné à 1 500 entrées
+        verify(electorClient).getElectorsPage(0L, 1000);
+        verify(electorClient).getElectorsPage(1000L, 500);
+        verify(electorClient, never()).getAllElectors();
+        verifyNoMoreInteractions(electorClient);
+        assertNotNull(cacheManager.getCache(ElectorCacheService.ELECTORS_CACHE).get(1500L));
+        assertNotNull(cacheManager.getCache(ElectorCacheService.LAST_KNOWN_ELECTORS_CACHE).get(1500L));
+    }
+
+    private static List<Elector> electors(long afterId, int limit) {
+        return LongStream.rangeClosed(afterId + 1, afterId + limit)
+                .mapToObj(id -> new Elector(id, "Doe", "Jane", null, "SEC-" + id, false))
+                .toList();
+    }
+}
@@ -0,0 +1,23 @@
+package evotingsystem.voteservice.services;
+
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.nio.file.Path;
+
+// Mêmes tests avec le moteur de stockage journal ; contexte fermé avant la suppression du répertoire
+@SpringBootTest(properties = "vote.storage.engine=journal")
+@DirtiesContext
+class JournalVoteServiceConcurrencyTest extends VoteServiceConcurrencyTest {
+
+    @TempDir
+    static Path storeDir;
+
+    @DynamicPropertySource
+    static void journalDir(DynamicPropertyRegistry registry) {
+        registry.add("vote.storage.journal.dir", storeDir::toString);
+    }
+}
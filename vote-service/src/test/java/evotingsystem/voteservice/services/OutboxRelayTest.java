@@ -0,0 +1,90 @@
+package evotingsystem.voteservice.services;
+
+import evotingsystem.voteservice.dtos.VoteCastEvent;
+import evotingsystem.voteservice.dtos.VoteRequest;
+import evotingsystem.voteservice.dtos.VoteResponse;
+import evotingsystem.voteservice.entities.OutboxDestination;
+import evotingsystem.voteservice.feignclients.Elector;
+import evotingsystem.voteservice.feignclients.ElectorClient;
+import evotingsystem.voteservice.feignclients.ResultClient;
+import evotingsystem.voteservice.repositories.VoteStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest
+class OutboxRelayTest {
+
+    @Autowired
+    private VoteService voteService;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private VoteStore voteStore;
+
+    @MockBean
+    private ElectorClient electorClient;
+
+    @MockBean
+    private ResultClient resultClient;
+
+    @BeforeEach
+    void setUp() {
+        when(electorClient.getElectorById(anyLong()))
+                .thenAnswer(i -> new Elector(i.getArgument(0), "Doe", "Jane", null, "SEC", false));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void acceptedVoteIsWrittenToOutboxAndDeliveredToBothConsumers() {
+        VoteResponse response = voteService.submitVote(new VoteRequest(2001L, 2L));
+
+        assertTrue(isPending(OutboxDestination.RESULT_SERVICE, response.getIdVote()));
+        assertTrue(isPending(OutboxDestination.VOTER_SERVICE, response.getIdVote()));
+
+        outboxRelay.relay();
+
+        ArgumentCaptor<List<VoteCastEvent>> delivered = ArgumentCaptor.forClass(List.class);
+        verify(resultClient, atLeastOnce()).onVotesCast(delivered.capture());
+        assertTrue(delivered.getAllValues().stream().flatMap(List::stream)
+                .anyMatch(e -> e.getIdVote().equals(response.getIdVote()) && e.getCandidateId() == 2L));
+        verify(electorClient, atLeastOnce()).onVotesCast(anyList());
+        assertFalse(isPending(OutboxDestination.RESULT_SERVICE, response.getIdVote()));
+        assertFalse(isPending(OutboxDestination.VOTER_SERVICE, response.getIdVote()));
+    }
+
+    @Test
+    void failedDeliveryIsRetriedOnlyForTheFailingConsumer() {
+        doThrow(new RuntimeException("result-service indisponible"))
+                .when(resultClient).onVotesCast(any());
+        VoteResponse response = voteService.submitVote(new VoteRequest(2002L, 1L));
+
+        outboxRelay.relay();
+
+        assertTrue(isPending(OutboxDestination.RESULT_SERVICE, response.getIdVote()));
+        assertFalse(isPending(OutboxDestination.VOTER_SERVICE, response.getIdVote()));
+
+        doNothing().when(resultClient).onVotesCast(any());
+        outboxRelay.relay();
+
+        assertFalse(isPending(OutboxDestination.RESULT_SERVICE, response.getIdVote()));
+    }
+
+    private boolean isPending(OutboxDestination destination, Long idVote) {
+        return voteStore.findPendingEvents(destination, Integer.MAX_VALUE).stream()
+                .anyMatch(e -> e.getIdVote().equals(idVote));
+    }
+}
@@ -0,0 +1,77 @@
+package evotingsystem.voteservice.services;
+
+import evotingsystem.voteservice.dtos.VoteRequest;
+import evotingsystem.voteservice.exceptions.AlreadyVotedException;
+import evotingsystem.voteservice.feignclients.Elector;
+import evotingsystem.voteservice.feignclients.ElectorClient;
+import evotingsystem.voteservice.repositories.VoteStore;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+class VoteServiceConcurrencyTest {
+
+    private static final int THREADS = 32;
+    private static final Long ELECTOR_ID = 1000L;
+
+    @Autowired
+    private VoteService voteService;
+
+    @Autowired
+    private VoteStore voteStore;
+
+    @MockBean
+    private ElectorClient electorClient;
+
+    @Test
+    void concurrentSubmissionsForSameElectorAcceptOnlyOneVote() throws Exception {
+        when(electorClient.getElectorById(anyLong()))
+                .thenReturn(new Elector(ELECTOR_ID, "Doe", "John", null, "SEC-1000", false));
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger accepted = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            long candidateId = i % 3 + 1;
+            futures.add(executor.submit(() -> {
+                start.await();
+                try {
+                    voteService.submitVote(new VoteRequest(ELECTOR_ID, candidateId));
+                    accepted.incrementAndGet();
+                } catch (AlreadyVotedException e) {
+                    rejected.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        assertEquals(1, accepted.get());
+        assertEquals(THREADS - 1, rejected.get());
+        assertEquals(1, voteStore.findAll().stream()
+                .filter(v -> ELECTOR_ID.equals(v.getElectorId()))
+                .count());
+    }
+}
@@ -0,0 +1,212 @@
+package evotingsystem.voteservice.services;
+
+import evotingsystem.voteservice.dtos.BatchVoteResponse;
+import evotingsystem.voteservice.dtos.BatchVoteStatus;
+import evotingsystem.voteservice.dtos.VoteRequest;
+import evotingsystem.voteservice.entities.Vote;
+import evotingsystem.voteservice.exceptions.AlreadyVotedException;
+import evotingsystem.voteservice.feignclients.Elector;
+import evotingsystem.voteservice.feignclients.ElectorClient;
+import evotingsystem.voteservice.feignclients.ResultClient;
+import evotingsystem.voteservice.repositories.OutboxEventRepository;
+import evotingsystem.voteservice.repositories.VoteRepository;
+import evotingsystem.voteservice.repositories.VoteStore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doCallRealMethod;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.when;
+
+// Sans traduction des exceptions des @Repository, l'IllegalStateException simulée
+// n'est pas convertie en DataAccessException (les dépôts JDBC et Spring Data traduisent eux-mêmes)
+@SpringBootTest(properties = {
+        "vote.ingestion.mode=write-behind",
+        "spring.dao.exceptiontranslation.enabled=false"
+})
+// Contexte fermé avant la suppression du répertoire du journal
+@DirtiesContext
+class WriteBehindVoteWriterTest {
+
+    private static final long RECOVERED_ELECTOR_ID = 5001L;
+
+    @TempDir
+    static Path journalDir;
+
+    @DynamicPropertySource
+    static void journalWithUnflushedVote(DynamicPropertyRegistry registry) throws IOException {
+        // Journal laissé par un arrêt brutal : un vote complet suivi d'un enregistrement tronqué
+        Path file = journalDir.resolve("votes.journal");
+        try (VoteJournal journal = new VoteJournal(file)) {
+            journal.append(List.of(new Vote(null, LocalDateTime.now(), RECOVERED_ELECTOR_ID, 3L, null)));
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.wrap(new byte[VoteJournal.RECORD_SIZE / 2]));
+        }
+        registry.add("vote.ingestion.journal-dir", journalDir::toString);
+    }
+
+    @Autowired
+    private VoteService voteService;
+
+    @Autowired
+    private VoteRepository voteRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @SpyBean
+    private VoteStore voteStore;
+
+    @MockBean
+    private ElectorClient electorClient;
+
+    @MockBean
+    private ResultClient resultClient;
+
+    @Test
+    void journaledVotesAreReplayedAtStartup() {
+        Vote recovered = voteRepository.findByElectorId(RECOVERED_ELECTOR_ID).orElseThrow();
+        assertEquals(3L, recovered.getCandidateId());
+        assertTrue(outboxEventRepository.findAll().stream()
+                .anyMatch(e -> e.getIdVote().equals(recovered.getIdVote())));
+    }
+
+    @Test
+    void concurrentVotesAreGroupCommittedWithOneVotePerElector() throws Exception {
+        when(electorClient.getElectorById(anyLong()))
+                .thenAnswer(i -> new Elector(i.getArgument(0), "Doe", "Jane", null, "SEC", false));
+
+        int electors = 20;
+        ExecutorService executor = Executors.newFixedThreadPool(2 * electors);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger accepted = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 2 * electors; i++) {
+            long electorId = 6000L + i % electors;
+            futures.add(executor.submit(() -> {
+                start.await();
+                try {
+                    voteService.submitVote(new VoteRequest(electorId, 1L));
+                    accepted.incrementAndGet();
+                } catch (AlreadyVotedException e) {
+                    rejected.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        assertEquals(electors, accepted.get());
+        assertEquals(electors, rejected.get());
+
+        // L'insertion en base suit l'acquittement
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (countStored(electors) < electors && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertEquals(electors, countStored(electors));
+        assertThrows(AlreadyVotedException.class, () -> voteService.submitVote(new VoteRequest(6000L, 2L)));
+    }
+
+    @Test
+    void batchIsRetriedAfterAnUnexpectedFailure() throws Exception {
+        when(electorClient.getElectorById(anyLong()))
+                .thenAnswer(i -> new Elector(i.getArgument(0), "Doe", "Jane", null, "SEC", false));
+        doThrow(new IllegalStateException("panne simulée")).doCallRealMethod().when(voteStore).insertAll(anyList());
+
+        voteService.submitVote(new VoteRequest(7000L, 2L));
+
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (voteRepository.findByElectorId(7000L).isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertEquals(2L, voteRepository.findByElectorId(7000L).orElseThrow().getCandidateId());
+        // Électeur et place en file libérés une fois le vote en base
+        while (registry.get("votes.ingestion.queue").gauge().value() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertEquals(0.0, registry.get("votes.ingestion.queue").gauge().value());
+        assertThrows(AlreadyVotedException.class, () -> voteService.submitVote(new VoteRequest(7000L, 1L)));
+    }
+
+    @Test
+    void batchVoteIsRefusedWhileTheSameElectorsVoteIsPending() throws Exception {
+        when(electorClient.getElectorById(anyLong()))
+                .thenAnswer(i -> new Elector(i.getArgument(0), "Doe", "Jane", null, "SEC", false));
+        when(electorClient.getElectorsByIds(anyList()))
+                .thenAnswer(i -> ((List<Long>) i.getArgument(0)).stream()
+                        .map(id -> new Elector(id, "Doe", "Jane", null, "SEC", false))
+                        .collect(Collectors.toList()));
+        // Insertion en base retenue : le vote unitaire est acquitté mais reste en attente
+        CountDownLatch stored = new CountDownLatch(1);
+        doAnswer(i -> {
+            stored.await(5, TimeUnit.SECONDS);
+            return i.callRealMethod();
+        }).when(voteStore).insertAll(anyList());
+        double conflicts = conflicts();
+
+        voteService.submitVote(new VoteRequest(7100L, 1L));
+        BatchVoteResponse response = voteService.submitVotes(List.of(
+                new VoteRequest(7100L, 2L), new VoteRequest(7101L, 2L)));
+        stored.countDown();
+
+        assertEquals(BatchVoteStatus.ALREADY_VOTED, response.getResults().get(0).getStatus());
+        assertEquals(BatchVoteStatus.ACCEPTED, response.getResults().get(1).getStatus());
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (voteRepository.findByElectorId(7101L).isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertEquals(1L, voteRepository.findByElectorId(7100L).orElseThrow().getCandidateId());
+        assertEquals(2L, voteRepository.findByElectorId(7101L).orElseThrow().getCandidateId());
+        assertEquals(conflicts, conflicts());
+    }
+
+    private double conflicts() {
+        Counter counter = registry.find("votes.ingestion.conflicts").counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    private long countStored(int electors) {
+        return voteRepository.findAll().stream()
+                .filter(v -> v.getElectorId() >= 6000L && v.getElectorId() < 6000L + electors)
+                .count();
+    }
+}
@@ -0,0 +1,96 @@
+package evotingsystem.voterservice.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Envoie les transactions en lecture seule (@Transactional(readOnly = true))
+ * vers un réplica à jour, tout le reste vers la base principale. Sans réplica
+ * utilisable, les lectures retombent sur la base principale.
+ *
+ * Le choix est fait à l'obtention de la connexion : la source doit être
+ * enveloppée dans un LazyConnectionDataSourceProxy, pour que la connexion ne
+ * soit obtenue qu'une fois la transaction (et son attribut readOnly) démarrée.
+ *
+ * Les entités lues sur un réplica peuvent être en retard (aVote encore à
+ * false) : la session Hibernate de la transaction passe alors en
+ * CacheMode.GET, qui lit le cache de second niveau sans l'alimenter. Les
+ * régions electors et electors-natural-id ne sont remplies que par des
+ * lectures ou écritures sur la base principale.
+ *
+ * Métrique : electors.datasource.reads (compteur, tag target) : replica,
+ * primary (aucun réplica utilisable).
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    static final String PRIMARY = "primary";
+
+    private final ReplicaLagMonitor replicaLagMonitor;
+    private final Counter replicaReads;
+    private final Counter primaryReads;
+
+    public ReadWriteRoutingDataSource(DataSource primary, Map<String, DataSource> replicas,
+                                      ReplicaLagMonitor replicaLagMonitor, MeterRegistry registry) {
+        this.replicaLagMonitor = replicaLagMonitor;
+        this.replicaReads = readCounter(registry, "replica");
+        this.primaryReads = readCounter(registry, PRIMARY);
+        Map<Object, Object> targets = new HashMap<>(replicas);
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return PRIMARY;
+        }
+        String replica = replicaLagMonitor.chooseReplica();
+        if (replica == null) {
+            primaryReads.increment();
+            return PRIMARY;
+        }
+        replicaReads.increment();
+        skipSecondLevelCachePuts();
+        return replica;
+    }
+
+    // Session de la transaction en cours en lecture seule du cache, jusqu'à la fin de la transaction
+    // (avec open-in-view, la même session sert ensuite aux autres transactions de la requête)
+    private static void skipSecondLevelCachePuts() {
+        for (Object resource : TransactionSynchronizationManager.getResourceMap().values()) {
+            if (resource instanceof EntityManagerHolder holder) {
+                Session session = holder.getEntityManager().unwrap(Session.class);
+                CacheMode previous = session.getCacheMode();
+                session.setCacheMode(CacheMode.GET);
+                if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                        @Override
+                        public void afterCompletion(int status) {
+                            if (session.isOpen()) {
+                                session.setCacheMode(previous);
+                            }
+                        }
+                    });
+                }
+            }
+        }
+    }
+
+    private static Counter readCounter(MeterRegistry registry, String target) {
+        return Counter.builder("electors.datasource.reads")
+                .tag("target", target)
+                .register(registry);
+    }
+}
@@ -0,0 +1,84 @@
+package evotingsystem.voterservice.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Lectures sur réplicas (elector.datasource.replica-urls renseigné).
+ *
+ * La base principale reste configurée par spring.datasource.* ; chaque réplica
+ * a son propre pool, avec les mêmes identifiants et la même taille de pool.
+ * Les transactions en lecture seule sont envoyées vers un réplica à jour
+ * (ReplicaLagMonitor), les écritures vers la base principale.
+ *
+ * @author Équipe E-Voting System
+ * @version 1.0.0
+ */
+@Configuration
+@ConditionalOnProperty(name = "elector.datasource.replica-urls")
+public class ReplicaDataSourceConfig {
+
+    /**
+     * Pool de la base principale, configuré comme celui de Spring Boot.
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "close")
+    public ReplicaLagMonitor replicaLagMonitor(HikariDataSource primaryDataSource,
+                                               MeterRegistry registry,
+                                               @Value("${elector.datasource.replica-urls}") List<String> replicaUrls,
+                                               @Value("${elector.datasource.replica-max-lag-ms:5000}") long maxLagMs,
+                                               @Value("${elector.datasource.heartbeat-interval-ms:1000}") long heartbeatIntervalMs) {
+        return new ReplicaLagMonitor(primaryDataSource, replicaPools(primaryDataSource, replicaUrls),
+                maxLagMs, heartbeatIntervalMs, registry);
+    }
+
+    /**
+     * Source de données utilisée par JPA et JdbcTemplate.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource,
+                                 ReplicaLagMonitor replicaLagMonitor,
+                                 MeterRegistry registry) {
+        return new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(
+                primaryDataSource, replicaLagMonitor.getReplicas(), replicaLagMonitor, registry));
+    }
+
+    private static Map<String, DataSource> replicaPools(HikariDataSource primary, List<String> replicaUrls) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (int i = 0; i < replicaUrls.size(); i++) {
+            String name = "replica-" + i;
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("voter-" + name);
+            replica.setJdbcUrl(replicaUrls.get(i).trim());
+            replica.setDriverClassName(primary.getDriverClassName());
+            replica.setUsername(primary.getUsername());
+            replica.setPassword(primary.getPassword());
+            if (primary.getMaximumPoolSize() > 0) {
+                replica.setMaximumPoolSize(primary.getMaximumPoolSize());
+            }
+            replica.setConnectionTimeout(primary.getConnectionTimeout());
+            replica.setReadOnly(true);
+            replicas.put(name, replica);
+        }
+        return replicas;
+    }
+}
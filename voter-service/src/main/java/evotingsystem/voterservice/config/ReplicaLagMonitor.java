@@ -0,0 +1,177 @@
+package evotingsystem.voterservice.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Retard de réplication des réplicas en lecture, mesuré par battement de cœur.
+ *
+ * À chaque intervalle, l'heure courante est écrite sur la base principale
+ * (table replication_heartbeat), puis relue sur chaque réplica : l'écart est
+ * son retard. Un réplica injoignable, sans battement ou en retard de plus de
+ * elector.datasource.replica-max-lag-ms n'est plus choisi jusqu'à la mesure
+ * suivante. Les heures comparées sont celles de l'application : l'horloge des
+ * serveurs de base n'intervient pas.
+ *
+ * Métrique : electors.datasource.replica.lag (jauge, tag replica), en
+ * millisecondes, NaN si le réplica est injoignable.
+ */
+@Slf4j
+public class ReplicaLagMonitor implements AutoCloseable {
+
+    private static final String CREATE_TABLE_SQL =
+            "CREATE TABLE IF NOT EXISTS replication_heartbeat (id INT PRIMARY KEY, beat BIGINT NOT NULL)";
+    private static final String UPDATE_SQL = "UPDATE replication_heartbeat SET beat = GREATEST(beat, ?) WHERE id = 1";
+    private static final String INSERT_SQL = "INSERT INTO replication_heartbeat (id, beat) VALUES (1, ?)";
+    private static final String SELECT_SQL = "SELECT beat FROM replication_heartbeat WHERE id = 1";
+
+    private final DataSource primary;
+    private final Map<String, DataSource> replicas;
+    private final long maxLagMs;
+    private final long heartbeatIntervalMs;
+    private final Map<String, Double> lags = new ConcurrentHashMap<>();
+    private final AtomicInteger next = new AtomicInteger();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "replica-lag-monitor");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Réplicas utilisables ; vide jusqu'à la première mesure
+    private volatile List<String> available = List.of();
+    private boolean heartbeatTableCreated;
+
+    public ReplicaLagMonitor(DataSource primary, Map<String, DataSource> replicas, long maxLagMs,
+                             long heartbeatIntervalMs, MeterRegistry registry) {
+        this.primary = primary;
+        this.replicas = new LinkedHashMap<>(replicas);
+        this.maxLagMs = maxLagMs;
+        this.heartbeatIntervalMs = heartbeatIntervalMs;
+        replicas.keySet().forEach(name -> {
+            lags.put(name, Double.NaN);
+            Gauge.builder("electors.datasource.replica.lag", lags, l -> l.get(name))
+                    .tag("replica", name)
+                    .description("Retard de réplication mesuré (ms)")
+                    .baseUnit("milliseconds")
+                    .register(registry);
+        });
+    }
+
+    public void start() {
+        scheduler.scheduleWithFixedDelay(this::check, 0, heartbeatIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Écrit un battement sur la base principale et mesure le retard de chaque réplica.
+     */
+    public synchronized void check() {
+        try {
+            writeHeartbeat(System.currentTimeMillis());
+        } catch (SQLException e) {
+            // Les réplicas sont tout de même mesurés : leur retard croît avec l'ancienneté du dernier battement
+            log.warn("Battement de réplication non écrit sur la base principale : {}", e.getMessage());
+        }
+
+        List<String> usable = new ArrayList<>();
+        for (Map.Entry<String, DataSource> replica : replicas.entrySet()) {
+            String name = replica.getKey();
+            double lag = measureLag(replica.getValue());
+            lags.put(name, lag);
+            boolean wasUsable = available.contains(name);
+            if (lag <= maxLagMs) {
+                usable.add(name);
+                if (!wasUsable) {
+                    log.info("Réplica {} utilisé pour les lectures (retard {} ms)", name, (long) lag);
+                }
+            } else if (wasUsable) {
+                log.warn("Réplica {} écarté des lectures : retard {} ms (maximum {} ms)",
+                        name, Double.isNaN(lag) ? "inconnu" : (long) lag, maxLagMs);
+            }
+        }
+        available = List.copyOf(usable);
+    }
+
+    public Map<String, DataSource> getReplicas() {
+        return replicas;
+    }
+
+    /**
+     * Choisit un réplica utilisable, à tour de rôle.
+     *
+     * @return Le nom du réplica, ou null si aucun n'est utilisable
+     */
+    public String chooseReplica() {
+        List<String> candidates = available;
+        if (candidates.isEmpty()) {
+            return null;
+        }
+        return candidates.get(Math.floorMod(next.getAndIncrement(), candidates.size()));
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+        replicas.forEach((name, replica) -> {
+            if (replica instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception e) {
+                    log.warn("Fermeture du pool du réplica {} impossible : {}", name, e.getMessage());
+                }
+            }
+        });
+    }
+
+    private void writeHeartbeat(long now) throws SQLException {
+        try (Connection connection = primary.getConnection()) {
+            connection.setAutoCommit(true);
+            if (!heartbeatTableCreated) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute(CREATE_TABLE_SQL);
+                }
+                heartbeatTableCreated = true;
+            }
+            // GREATEST : plusieurs instances écrivent le même battement
+            try (PreparedStatement update = connection.prepareStatement(UPDATE_SQL)) {
+                update.setLong(1, now);
+                if (update.executeUpdate() == 0) {
+                    try (PreparedStatement insert = connection.prepareStatement(INSERT_SQL)) {
+                        insert.setLong(1, now);
+                        insert.executeUpdate();
+                    }
+                }
+            }
+        }
+    }
+
+    private double measureLag(DataSource replica) {
+        try (Connection connection = replica.getConnection();
+             PreparedStatement select = connection.prepareStatement(SELECT_SQL);
+             ResultSet beat = select.executeQuery()) {
+            if (!beat.next()) {
+                return Double.NaN;
+            }
+            return Math.max(0L, System.currentTimeMillis() - beat.getLong(1));
+        } catch (SQLException e) {
+            log.debug("Retard de réplication non mesuré : {}", e.getMessage());
+            return Double.NaN;
+        }
+    }
+}
@@ -1,19 +1,30 @@
 package evotingsystem.voterservice.controllers;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
 import evotingsystem.voterservice.dtos.ElectorDTO;
+import evotingsystem.voterservice.dtos.ElectorImportReport;
 import evotingsystem.voterservice.dtos.ElectorRequest;
 import evotingsystem.voterservice.dtos.ElectorResponse;
+import evotingsystem.voterservice.dtos.VoteCastEvent;
 import evotingsystem.voterservice.exceptions.ElectorAlreadyExistsException;
 import evotingsystem.voterservice.exceptions.ElectorNotFoundException;
+import evotingsystem.voterservice.services.ElectorImportService;
 import evotingsystem.voterservice.services.ElectorService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.stream.Collectors;
 
 /**
  * Contrôleur REST pour la gestion des électeurs.
@@ -24,8 +35,13 @@ import java.util.List;
  * Endpoints disponibles:
  * - POST /api/electors : Créer un nouvel électeur
  * - GET /api/electors/{id} : Récupérer un électeur par son ID
+ * - POST /api/electors/batch : Récupérer plusieurs électeurs par leurs IDs
  * - GET /api/electors : Récupérer la liste de tous les électeurs
+ * - GET /api/electors/page : Récupérer une page d'électeurs (pagination par clé)
+ * - GET /api/electors/stream : Exporter tous les électeurs en flux NDJSON
  * - GET /api/electors/identifiant/{identifiantSecurise} : Récupérer un électeur par son identifiant sécurisé
+ * - POST /api/electors/events/vote-cast : Recevoir les événements VoteCast de vote-service
+ * - POST /api/electors/import : Importer une liste électorale au format CSV, en flux
  * 
  * @author Équipe E-Voting System
  * @version 1.0.0
@@ -36,7 +52,11 @@ import java.util.List;
 @Slf4j
 public class ElectorController {
 
+    private static final String NDJSON = "application/x-ndjson";
+
     private final ElectorService electorService;
+    private final ElectorImportService electorImportService;
+    private final ObjectMapper objectMapper;
 
     /**
      * Crée un nouvel électeur dans le système.
@@ -92,6 +112,27 @@ public class ElectorController {
         }
     }
 
+    /**
+     * Récupère plusieurs électeurs par leurs identifiants en une seule requête.
+     * 
+     * @param ids La liste des identifiants des électeurs
+     * @return ResponseEntity contenant les électeurs trouvés avec le statut HTTP 200 (OK);
+     *         les identifiants inconnus sont absents de la réponse
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<List<ElectorDTO>> getElectorsByIds(@RequestBody List<Long> ids) {
+        log.info("Requête POST reçue pour récupérer {} électeurs", ids.size());
+
+        try {
+            List<ElectorDTO> electors = electorService.getElectorsByIds(ids);
+            log.info("Nombre d'électeurs retournés: {}", electors.size());
+            return ResponseEntity.ok(electors);
+        } catch (Exception e) {
+            log.error("Erreur lors de la récupération groupée des électeurs", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
     /**
      * Récupère la liste de tous les électeurs enregistrés.
      * 
@@ -111,6 +152,57 @@ public class ElectorController {
         }
     }
 
+    /**
+     * Récupère une page d'électeurs par clé : les électeurs d'ID strictement
+     * supérieur à afterId, triés par ID.
+     * 
+     * @param afterId L'ID du dernier électeur de la page précédente (0 par défaut)
+     * @param limit Le nombre maximal d'électeurs à retourner (1000 par défaut, borné à 10000)
+     * @return ResponseEntity contenant la page d'électeurs avec le statut HTTP 200 (OK)
+     */
+    @GetMapping("/page")
+    public ResponseEntity<List<ElectorDTO>> listElectorsPage(
+            @RequestParam(defaultValue = "0") Long afterId,
+            @RequestParam(defaultValue = "1000") int limit) {
+        log.info("Requête GET reçue pour une page d'électeurs après l'ID: {} (limite {})", afterId, limit);
+
+        try {
+            return ResponseEntity.ok(electorService.listElectorsPage(afterId, limit));
+        } catch (Exception e) {
+            log.error("Erreur lors de la récupération d'une page d'électeurs", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /**
+     * Exporte tous les électeurs en flux NDJSON (un objet JSON par ligne).
+     * La mémoire utilisée reste constante quel que soit le nombre d'électeurs.
+     * 
+     * @return ResponseEntity dont le corps est écrit au fil de la lecture en base
+     */
+    @GetMapping(value = "/stream", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> streamElectors() {
+        log.info("Requête GET reçue pour exporter les électeurs en flux");
+
+        StreamingResponseBody body = out -> {
+            SequenceWriter writer = objectMapper.writer()
+                    .withRootValueSeparator("\n")
+                    .writeValues(out);
+            electorService.streamElectors(elector -> {
+                try {
+                    writer.write(elector);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            writer.flush();
+            out.write('\n');
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NDJSON))
+                .body(body);
+    }
+
     /**
      * Récupère un électeur par son identifiant sécurisé.
      * 
@@ -139,5 +231,56 @@ public class ElectorController {
                     .body("Erreur interne du serveur lors de la récupération de l'électeur");
         }
     }
-}
 
+    /**
+     * Reçoit les événements VoteCast diffusés par vote-service et marque
+     * les électeurs concernés comme ayant voté.
+     * 
+     * @param events Les événements VoteCast à appliquer
+     * @return ResponseEntity vide avec le statut HTTP 200 (OK) une fois les événements appliqués,
+     *         ou le statut HTTP 500 (Internal Server Error) pour que vote-service les renvoie
+     */
+    @PostMapping("/events/vote-cast")
+    public ResponseEntity<Void> onVotesCast(@RequestBody List<VoteCastEvent> events) {
+        log.info("Réception de {} événement(s) VoteCast", events.size());
+
+        try {
+            electorService.markElectorsAsVoted(events.stream()
+                    .map(VoteCastEvent::getElectorId)
+                    .collect(Collectors.toList()));
+            return ResponseEntity.ok().build();
+        } catch (Exception e) {
+            log.error("Erreur lors de l'application des événements VoteCast", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /**
+     * Importe une liste électorale au format CSV (UTF-8, avec en-tête
+     * nom, prenom, dateNaissance, identifiantSecurise). Le corps de la requête
+     * est lu en flux : la mémoire utilisée ne dépend pas de la taille du fichier.
+     * 
+     * @param csv Le contenu du fichier CSV
+     * @param separator Le séparateur de champs (',' par défaut, ou ';')
+     * @return ResponseEntity contenant le bilan de l'import avec le statut HTTP 200 (OK)
+     *         ou le statut HTTP 400 (Bad Request) si l'en-tête est invalide
+     */
+    @PostMapping(value = "/import", consumes = {"text/csv", MediaType.TEXT_PLAIN_VALUE})
+    public ResponseEntity<?> importElectors(InputStream csv,
+                                            @RequestParam(defaultValue = ",") char separator) {
+        log.info("Requête POST reçue pour importer une liste électorale (séparateur '{}')", separator);
+
+        try {
+            ElectorImportReport report = electorImportService.importCsv(csv, separator);
+            return ResponseEntity.ok(report);
+        } catch (IllegalArgumentException | IOException e) {
+            log.warn("Import de la liste électorale refusé: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body("Erreur: " + e.getMessage());
+        } catch (Exception e) {
+            log.error("Erreur lors de l'import de la liste électorale", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Erreur interne du serveur lors de l'import de la liste électorale");
+        }
+    }
+}
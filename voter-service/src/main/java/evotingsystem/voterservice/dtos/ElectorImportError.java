@@ -0,0 +1,32 @@
+package evotingsystem.voterservice.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO décrivant une ligne rejetée lors d'un import CSV d'électeurs.
+ * 
+ * @author Équipe E-Voting System
+ * @version 1.0.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ElectorImportError {
+
+    /**
+     * Numéro de ligne dans le fichier (l'en-tête est la ligne 1).
+     */
+    private long line;
+
+    /**
+     * Identifiant sécurisé de la ligne, s'il est renseigné.
+     */
+    private String identifiantSecurise;
+
+    /**
+     * Motif du rejet.
+     */
+    private String message;
+}
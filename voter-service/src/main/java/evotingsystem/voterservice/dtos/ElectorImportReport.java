@@ -0,0 +1,59 @@
+package evotingsystem.voterservice.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO du bilan d'un import CSV d'électeurs.
+ * 
+ * Les lignes rejetées sont comptées ; seules les premières sont détaillées
+ * dans errors, pour que le bilan reste de taille bornée.
+ * 
+ * @author Équipe E-Voting System
+ * @version 1.0.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ElectorImportReport {
+
+    /**
+     * Nombre de lignes lues (hors en-tête).
+     */
+    private long rows;
+
+    /**
+     * Nombre d'électeurs créés.
+     */
+    private long imported;
+
+    /**
+     * Nombre de lignes rejetées car invalides (contraintes de ElectorRequest).
+     */
+    private long invalid;
+
+    /**
+     * Nombre de lignes ignorées car l'identifiant sécurisé existe déjà
+     * (en base ou plus haut dans le fichier).
+     */
+    private long duplicates;
+
+    /**
+     * Durée de l'import en millisecondes.
+     */
+    private long durationMs;
+
+    /**
+     * Débit moyen en lignes par seconde.
+     */
+    private long rowsPerSecond;
+
+    /**
+     * Détail des premières lignes rejetées.
+     */
+    private List<ElectorImportError> errors = new ArrayList<>();
+}
@@ -0,0 +1,42 @@
+package evotingsystem.voterservice.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Événement VoteCast reçu de vote-service lorsqu'un vote a été enregistré.
+ * 
+ * Seul l'identifiant de l'électeur est utilisé par ce service, pour mettre
+ * à jour son statut de vote.
+ * 
+ * @author Équipe E-Voting System
+ * @version 1.0.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VoteCastEvent {
+
+    /**
+     * Identifiant du vote enregistré.
+     */
+    private Long idVote;
+
+    /**
+     * Date et heure du vote.
+     */
+    private LocalDateTime dateHeure;
+
+    /**
+     * Identifiant de l'électeur ayant voté.
+     */
+    private Long electorId;
+
+    /**
+     * Identifiant du candidat choisi.
+     */
+    private Long candidateId;
+}
@@ -4,6 +4,10 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 import java.util.Date;
 
@@ -13,6 +17,10 @@ import java.util.Date;
  * Cette classe modélise les informations d'un électeur, incluant ses données personnelles
  * et son statut de vote. Elle est mappée à la table "electors" dans la base de données.
  * 
+ * Les électeurs sont conservés dans le cache de second niveau Hibernate, par ID et par
+ * identifiant sécurisé (identifiant naturel) : ils ne changent presque plus pendant une
+ * élection. Le cache est mis à jour à chaque écriture passant par l'entité.
+ * 
  * @author Équipe E-Voting System
  * @version 1.0.0
  */
@@ -21,6 +29,8 @@ import java.util.Date;
     @Index(name = "idx_identifiant_securise", columnList = "identifiantSecurise"),
     @Index(name = "idx_a_vote", columnList = "aVote")
 })
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "electors")
+@NaturalIdCache(region = "electors-natural-id")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -60,8 +70,9 @@ public class Elector {
     /**
      * Identifiant sécurisé unique de l'électeur.
      * Utilisé pour l'authentification et la vérification de l'identité.
-     * Doit être unique dans la base de données.
+     * Doit être unique dans la base de données. Identifiant naturel, non modifiable.
      */
+    @NaturalId
     @Column(name = "identifiant_securise", unique = true, nullable = false)
     private String identifiantSecurise;
 
@@ -0,0 +1,46 @@
+package evotingsystem.voterservice.repositories;
+
+import evotingsystem.voterservice.dtos.ElectorRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.util.List;
+
+/**
+ * Insertion des électeurs par lots JDBC, pour l'import de listes électorales.
+ * Hibernate ne regroupe pas les INSERT d'une entité en GenerationType.IDENTITY,
+ * d'où ce passage direct par JDBC (combiné à rewriteBatchedStatements côté MySQL).
+ * 
+ * @author Équipe E-Voting System
+ * @version 1.0.0
+ */
+@Repository
+@RequiredArgsConstructor
+public class ElectorBatchRepository {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO electors (nom, prenom, date_naissance, identifiant_securise, a_vote) " +
+            "VALUES (?, ?, ?, ?, false)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Insère tous les électeurs dans une même transaction. En cas de violation
+     * de contrainte (identifiant sécurisé déjà présent), aucun électeur du lot
+     * n'est conservé.
+     * 
+     * @param electors Les électeurs à insérer, déjà validés
+     */
+    @Transactional
+    public void insertAll(List<ElectorRequest> electors) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, electors, electors.size(), (ps, elector) -> {
+            ps.setString(1, elector.getNom());
+            ps.setString(2, elector.getPrenom());
+            ps.setDate(3, new Date(elector.getDateNaissance().getTime()));
+            ps.setString(4, elector.getIdentifiantSecurise());
+        });
+    }
+}
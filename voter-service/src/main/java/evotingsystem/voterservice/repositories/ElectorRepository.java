@@ -1,10 +1,21 @@
 package evotingsystem.voterservice.repositories;
 
+import evotingsystem.voterservice.dtos.ElectorDTO;
 import evotingsystem.voterservice.entities.Elector;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.util.Optional;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 /**
  * Interface de repository pour l'entité Elector.
@@ -16,15 +27,7 @@ import java.util.Optional;
  * @version 1.0.0
  */
 @Repository
-public interface ElectorRepository extends JpaRepository<Elector, Long> {
-
-    /**
-     * Recherche un électeur par son identifiant sécurisé.
-     * 
-     * @param identifiantSecurise L'identifiant sécurisé de l'électeur
-     * @return Un Optional contenant l'électeur trouvé, ou vide si aucun n'est trouvé
-     */
-    Optional<Elector> findByIdentifiantSecurise(String identifiantSecurise);
+public interface ElectorRepository extends JpaRepository<Elector, Long>, ElectorRepositoryCustom {
 
     /**
      * Vérifie si un électeur existe avec l'identifiant sécurisé donné.
@@ -33,5 +36,59 @@ public interface ElectorRepository extends JpaRepository<Elector, Long> {
      * @return true si un électeur existe avec cet identifiant, false sinon
      */
     boolean existsByIdentifiantSecurise(String identifiantSecurise);
+
+    /**
+     * Récupère tous les électeurs projetés directement en DTO, triés par ID.
+     * 
+     * @return La liste de tous les ElectorDTO
+     */
+    @Query("SELECT " + DTO_PROJECTION + " FROM Elector e ORDER BY e.idElector")
+    List<ElectorDTO> findAllAsDTO();
+
+    /**
+     * Récupère une page d'électeurs projetés directement en DTO, par clé :
+     * les électeurs d'ID strictement supérieur à afterId, triés par ID.
+     * 
+     * @param afterId L'ID du dernier électeur de la page précédente (0 pour la première page)
+     * @param pageable La taille de la page (le numéro de page n'est pas utilisé)
+     * @return La liste des ElectorDTO de la page
+     */
+    @Query("SELECT " + DTO_PROJECTION + " FROM Elector e WHERE e.idElector > :afterId ORDER BY e.idElector")
+    List<ElectorDTO> findPageAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Parcourt tous les électeurs projetés en DTO, triés par ID, sans les
+     * charger en mémoire d'un seul bloc. Doit être consommé dans une transaction.
+     * 
+     * @return Un flux d'ElectorDTO à fermer après usage
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT " + DTO_PROJECTION + " FROM Elector e ORDER BY e.idElector")
+    Stream<ElectorDTO> streamAll();
+
+    /**
+     * Parcourt les identifiants sécurisés de tous les électeurs, sans les charger
+     * en mémoire d'un seul bloc. Doit être consommé dans une transaction.
+     * 
+     * @return Un flux d'identifiants sécurisés à fermer après usage
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "10000"))
+    @Query("SELECT e.identifiantSecurise FROM Elector e")
+    Stream<String> streamIdentifiantsSecurises();
+
+    /**
+     * Parmi les identifiants sécurisés donnés, renvoie ceux déjà enregistrés.
+     * 
+     * @param identifiantsSecurises Les identifiants sécurisés à vérifier
+     * @return Les identifiants sécurisés existants
+     */
+    @Query("SELECT e.identifiantSecurise FROM Elector e WHERE e.identifiantSecurise IN :identifiants")
+    Set<String> findExistingIdentifiantsSecurises(@Param("identifiants") Collection<String> identifiantsSecurises);
+
+    /**
+     * Expression de construction des ElectorDTO, évitant l'instanciation des entités.
+     */
+    String DTO_PROJECTION = "new evotingsystem.voterservice.dtos.ElectorDTO(" +
+            "e.idElector, e.nom, e.prenom, e.dateNaissance, e.identifiantSecurise, e.aVote)";
 }
 
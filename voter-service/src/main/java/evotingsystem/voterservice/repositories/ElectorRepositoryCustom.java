@@ -0,0 +1,34 @@
+package evotingsystem.voterservice.repositories;
+
+import evotingsystem.voterservice.entities.Elector;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Recherches d'électeurs qui passent par l'API Hibernate, hors requêtes
+ * dérivées de Spring Data.
+ * 
+ * @author Équipe E-Voting System
+ * @version 1.0.0
+ */
+public interface ElectorRepositoryCustom {
+
+    /**
+     * Recherche un électeur par son identifiant sécurisé (identifiant naturel).
+     * Servi par le cache de second niveau quand l'électeur y figure, sans requête SQL.
+     * 
+     * @param identifiantSecurise L'identifiant sécurisé de l'électeur
+     * @return Un Optional contenant l'électeur trouvé, ou vide si aucun n'est trouvé
+     */
+    Optional<Elector> findByNaturalId(String identifiantSecurise);
+
+    /**
+     * Charge plusieurs électeurs par ID : ceux présents dans le cache de second niveau
+     * en sont lus, les autres sont chargés en une requête. Les IDs inconnus sont ignorés.
+     * 
+     * @param ids Les identifiants uniques des électeurs
+     * @return Les électeurs trouvés, dans l'ordre des IDs
+     */
+    List<Elector> loadAllById(List<Long> ids);
+}
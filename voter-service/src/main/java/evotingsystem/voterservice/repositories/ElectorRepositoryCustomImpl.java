@@ -0,0 +1,43 @@
+package evotingsystem.voterservice.repositories;
+
+import evotingsystem.voterservice.entities.Elector;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Implémentation de ElectorRepositoryCustom, rattachée à ElectorRepository par Spring Data.
+ * 
+ * @author Équipe E-Voting System
+ * @version 1.0.0
+ */
+@Transactional(readOnly = true)
+class ElectorRepositoryCustomImpl implements ElectorRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Optional<Elector> findByNaturalId(String identifiantSecurise) {
+        // Une requête JPQL ne consulte pas le cache : seule l'API d'identifiant naturel le fait
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(Elector.class)
+                .loadOptional(identifiantSecurise);
+    }
+
+    @Override
+    public List<Elector> loadAllById(List<Long> ids) {
+        // findAllById passe par une requête IN, sans consulter le cache
+        return entityManager.unwrap(Session.class)
+                .byMultipleIds(Elector.class)
+                .multiLoad(ids)
+                .stream()
+                .filter(Objects::nonNull)
+                .toList();
+    }
+}
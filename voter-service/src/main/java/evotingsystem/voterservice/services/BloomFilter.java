@@ -0,0 +1,78 @@
+package evotingsystem.voterservice.services;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Filtre de Bloom de chaînes : "absent" est certain, "peut-être présent" se
+ * trompe avec la probabilité choisie tant que le nombre d'éléments ne
+ * dépasse pas la capacité prévue. 10 millions d'éléments à 1 % occupent 12 Mo.
+ *
+ * Ajouts et lectures concurrents sans verrou : un bit n'est jamais effacé.
+ */
+class BloomFilter {
+
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashCount;
+    private final LongAdder bitsSet = new LongAdder();
+
+    BloomFilter(long expectedInsertions, double falsePositiveRate) {
+        long n = Math.max(1L, expectedInsertions);
+        // m = -n ln(p) / ln(2)², k = m/n ln(2)
+        long bits = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.words = new AtomicLongArray(Math.toIntExact((bits + 63) / 64));
+        this.bitCount = (long) words.length() * 64;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / n * Math.log(2)));
+    }
+
+    void add(String value) {
+        long h1 = hash(value, 0x9E3779B97F4A7C15L);
+        long h2 = hash(value, 0xC2B2AE3D27D4EB4FL);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            if ((words.getAndAccumulate(word, mask, (bits, b) -> bits | b) & mask) == 0) {
+                bitsSet.increment();
+            }
+        }
+    }
+
+    boolean mightContain(String value) {
+        long h1 = hash(value, 0x9E3779B97F4A7C15L);
+        long h2 = hash(value, 0xC2B2AE3D27D4EB4FL);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Taux de faux positifs attendu pour le remplissage actuel : (bits à 1 / bits)^k
+    double expectedFalsePositiveRate() {
+        return Math.pow(bitsSet.doubleValue() / bitCount, hashCount);
+    }
+
+    long sizeInBytes() {
+        return (long) words.length() * Long.BYTES;
+    }
+
+    // Deux hachages 64 bits indépendants, combinés en k positions (double hachage)
+    private static long hash(String value, long seed) {
+        long h = seed;
+        for (int i = 0; i < value.length(); i++) {
+            h = (h ^ value.charAt(i)) * 0x100000001B3L;
+            h = Long.rotateLeft(h, 29);
+        }
+        // Finalisation de MurmurHash3 : chaque bit d'entrée influence tous les bits de sortie
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,107 @@
+package evotingsystem.voterservice.services;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lecture incrémentale d'un fichier CSV (RFC 4180) : séparateur virgule ou
+ * point-virgule, champs entre guillemets pouvant contenir séparateurs, sauts
+ * de ligne et guillemets doublés. Seul l'enregistrement courant est en mémoire.
+ */
+class CsvReader {
+
+    private final Reader reader;
+    private final char separator;
+    private final char[] buffer = new char[64 * 1024];
+    private final StringBuilder field = new StringBuilder();
+    private int position;
+    private int limit;
+    private long line = 1;
+    private long recordLine;
+
+    CsvReader(Reader reader, char separator) {
+        this.reader = reader;
+        this.separator = separator;
+    }
+
+    /**
+     * @return les champs de l'enregistrement suivant, ou null en fin de fichier
+     */
+    List<String> next() throws IOException {
+        int c = read();
+        // Lignes vides ignorées
+        while (c == '\r' || c == '\n') {
+            c = read();
+        }
+        if (c == -1) {
+            return null;
+        }
+        recordLine = line;
+        List<String> fields = new ArrayList<>();
+        field.setLength(0);
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new IOException("Guillemet non fermé à partir de la ligne " + recordLine);
+                }
+                if (c == '"') {
+                    int following = read();
+                    if (following == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        c = following;
+                        continue;
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == separator) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n' || c == '\r' || c == -1) {
+                fields.add(field.toString());
+                if (c == '\r') {
+                    skipLineFeed();
+                }
+                return fields;
+            } else {
+                field.append((char) c);
+            }
+            c = read();
+        }
+    }
+
+    // Numéro de ligne (à partir de 1) du début de l'enregistrement renvoyé par next()
+    long getRecordLine() {
+        return recordLine;
+    }
+
+    private int read() throws IOException {
+        if (position == limit) {
+            limit = reader.read(buffer, 0, buffer.length);
+            position = 0;
+            if (limit <= 0) {
+                limit = 0;
+                return -1;
+            }
+        }
+        char c = buffer[position++];
+        if (c == '\n') {
+            line++;
+        }
+        return c;
+    }
+
+    private void skipLineFeed() throws IOException {
+        int c = read();
+        if (c != '\n' && c != -1) {
+            position--;
+        }
+    }
+}
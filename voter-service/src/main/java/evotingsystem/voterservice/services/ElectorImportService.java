@@ -0,0 +1,269 @@
+package evotingsystem.voterservice.services;
+
+import evotingsystem.voterservice.dtos.ElectorImportError;
+import evotingsystem.voterservice.dtos.ElectorImportReport;
+import evotingsystem.voterservice.dtos.ElectorRequest;
+import evotingsystem.voterservice.repositories.ElectorBatchRepository;
+import evotingsystem.voterservice.repositories.ElectorRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Import de listes électorales au format CSV, en flux.
+ *
+ * Le fichier est lu ligne à ligne ; seul le lot courant est en mémoire. Chaque
+ * ligne est validée avec les contraintes de ElectorRequest, les identifiants
+ * sécurisés déjà enregistrés (en base ou plus haut dans le fichier) sont
+ * ignorés, et chaque lot est vérifié puis inséré par un batch JDBC dans sa propre
+ * transaction (sur la base principale, jamais sur un réplica en retard).
+ * Un import interrompu conserve les lots déjà insérés : le relancer ignore
+ * simplement les électeurs déjà présents.
+ *
+ * Colonnes attendues (en-tête, dans un ordre quelconque) :
+ * nom, prenom, dateNaissance (AAAA-MM-JJ), identifiantSecurise.
+ *
+ * @author Équipe E-Voting System
+ * @version 1.0.0
+ */
+@Service
+@Slf4j
+public class ElectorImportService {
+
+    /**
+     * Nombre maximal de lignes rejetées détaillées dans le bilan.
+     */
+    private static final int MAX_REPORTED_ERRORS = 100;
+
+    private static final List<String> COLUMNS = List.of("nom", "prenom", "dateNaissance", "identifiantSecurise");
+
+    private final ElectorRepository electorRepository;
+    private final ElectorBatchRepository electorBatchRepository;
+    private final IdentifiantSecuriseFilter identifiantFilter;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter importedRows;
+    private final Counter invalidRows;
+    private final Counter duplicateRows;
+    private final int batchSize;
+    private final long progressRows;
+
+    public ElectorImportService(ElectorRepository electorRepository,
+                                ElectorBatchRepository electorBatchRepository,
+                                IdentifiantSecuriseFilter identifiantFilter,
+                                Validator validator,
+                                TransactionTemplate transactionTemplate,
+                                MeterRegistry registry,
+                                @Value("${elector.import.batch-size:1000}") int batchSize,
+                                @Value("${elector.import.progress-rows:100000}") long progressRows) {
+        this.electorRepository = electorRepository;
+        this.electorBatchRepository = electorBatchRepository;
+        this.identifiantFilter = identifiantFilter;
+        this.validator = validator;
+        this.transactionTemplate = transactionTemplate;
+        this.importedRows = rowCounter(registry, "imported");
+        this.invalidRows = rowCounter(registry, "invalid");
+        this.duplicateRows = rowCounter(registry, "duplicate");
+        this.batchSize = batchSize;
+        this.progressRows = progressRows;
+    }
+
+    /**
+     * Importe les électeurs d'un fichier CSV encodé en UTF-8.
+     *
+     * @param csv Le contenu du fichier, lu au fil de l'import
+     * @param separator Le séparateur de champs (',' ou ';')
+     * @return Le bilan de l'import
+     * @throws IllegalArgumentException Si l'en-tête ne contient pas les colonnes attendues
+     * @throws IOException Si le fichier ne peut pas être lu
+     */
+    public ElectorImportReport importCsv(InputStream csv, char separator) throws IOException {
+        long start = System.nanoTime();
+        CsvReader reader = new CsvReader(new InputStreamReader(csv, StandardCharsets.UTF_8), separator);
+        int[] columns = columnIndexes(reader.next());
+
+        ElectorImportReport report = new ElectorImportReport();
+        List<ElectorRequest> batch = new ArrayList<>(batchSize);
+        Set<String> batchIdentifiants = new HashSet<>();
+
+        List<String> fields;
+        while ((fields = reader.next()) != null) {
+            report.setRows(report.getRows() + 1);
+            long line = reader.getRecordLine();
+            if (report.getRows() % progressRows == 0) {
+                log.info("Import des électeurs : {} lignes lues, {} importées, {} rejetées, {} doublons, {} lignes/s",
+                        report.getRows(), report.getImported(), report.getInvalid(), report.getDuplicates(),
+                        rowsPerSecond(report.getRows(), start));
+            }
+
+            ElectorRequest elector;
+            try {
+                elector = toRequest(fields, columns);
+            } catch (IllegalArgumentException e) {
+                reject(report, line, null, e.getMessage());
+                continue;
+            }
+            Set<ConstraintViolation<ElectorRequest>> violations = validator.validate(elector);
+            if (!violations.isEmpty()) {
+                reject(report, line, elector.getIdentifiantSecurise(), violations.stream()
+                        .map(ConstraintViolation::getMessage)
+                        .sorted()
+                        .collect(Collectors.joining(", ")));
+                continue;
+            }
+
+            // Doublon à l'intérieur du lot ; les lots précédents sont déjà en base
+            if (!batchIdentifiants.add(elector.getIdentifiantSecurise())) {
+                countDuplicates(report, 1);
+                continue;
+            }
+            batch.add(elector);
+
+            if (batch.size() == batchSize) {
+                writeBatch(batch, report);
+                batch.clear();
+                batchIdentifiants.clear();
+            }
+        }
+        writeBatch(batch, report);
+
+        report.setDurationMs((System.nanoTime() - start) / 1_000_000);
+        report.setRowsPerSecond(rowsPerSecond(report.getRows(), start));
+        log.info("Import des électeurs terminé : {} lignes, {} importées, {} rejetées, {} doublons en {} ms ({} lignes/s)",
+                report.getRows(), report.getImported(), report.getInvalid(), report.getDuplicates(),
+                report.getDurationMs(), report.getRowsPerSecond());
+        return report;
+    }
+
+    private void writeBatch(List<ElectorRequest> batch, ElectorImportReport report) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<ElectorRequest> newElectors;
+        try {
+            newElectors = transactionTemplate.execute(status -> insertNew(batch, false));
+        } catch (DataIntegrityViolationException e) {
+            // Identifiant enregistré entre-temps (création concurrente, autre instance) :
+            // le lot a été annulé, on le rejoue en vérifiant tous les identifiants en base
+            newElectors = transactionTemplate.execute(status -> insertNew(batch, true));
+        }
+        newElectors.forEach(elector -> identifiantFilter.add(elector.getIdentifiantSecurise()));
+
+        report.setImported(report.getImported() + newElectors.size());
+        importedRows.increment(newElectors.size());
+        countDuplicates(report, batch.size() - newElectors.size());
+    }
+
+    private List<ElectorRequest> insertNew(List<ElectorRequest> batch, boolean checkAll) {
+        List<ElectorRequest> newElectors = withoutExisting(batch, checkAll);
+        electorBatchRepository.insertAll(newElectors);
+        return newElectors;
+    }
+
+    private List<ElectorRequest> withoutExisting(List<ElectorRequest> batch, boolean checkAll) {
+        // Seuls les identifiants que le filtre de Bloom n'exclut pas sont vérifiés, en une requête
+        List<String> candidates = batch.stream()
+                .map(ElectorRequest::getIdentifiantSecurise)
+                .filter(identifiant -> checkAll || identifiantFilter.mightContain(identifiant))
+                .toList();
+        if (candidates.isEmpty()) {
+            return batch;
+        }
+        Set<String> existing = electorRepository.findExistingIdentifiantsSecurises(candidates);
+        if (!checkAll) {
+            candidates.forEach(identifiant -> identifiantFilter.recordPositive(existing.contains(identifiant)));
+        }
+        return batch.stream()
+                .filter(elector -> !existing.contains(elector.getIdentifiantSecurise()))
+                .toList();
+    }
+
+    private static int[] columnIndexes(List<String> header) {
+        if (header == null) {
+            throw new IllegalArgumentException("Fichier vide : en-tête attendu (" + String.join(", ", COLUMNS) + ")");
+        }
+        Map<String, Integer> positions = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            // Marque d'ordre d'octets éventuelle en tête de fichier
+            positions.put(header.get(i).replace("\uFEFF", "").trim(), i);
+        }
+        int[] indexes = new int[COLUMNS.size()];
+        for (int i = 0; i < COLUMNS.size(); i++) {
+            Integer position = positions.get(COLUMNS.get(i));
+            if (position == null) {
+                throw new IllegalArgumentException("Colonne manquante dans l'en-tête : " + COLUMNS.get(i));
+            }
+            indexes[i] = position;
+        }
+        return indexes;
+    }
+
+    private static ElectorRequest toRequest(List<String> fields, int[] columns) {
+        ElectorRequest elector = new ElectorRequest();
+        elector.setNom(field(fields, columns[0]));
+        elector.setPrenom(field(fields, columns[1]));
+        String dateNaissance = field(fields, columns[2]);
+        elector.setIdentifiantSecurise(field(fields, columns[3]));
+        if (dateNaissance != null) {
+            try {
+                elector.setDateNaissance(Date.valueOf(LocalDate.parse(dateNaissance)));
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("Date de naissance invalide (AAAA-MM-JJ attendu) : " + dateNaissance);
+            }
+        }
+        return elector;
+    }
+
+    private static String field(List<String> fields, int index) {
+        if (index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private void reject(ElectorImportReport report, long line, String identifiantSecurise, String message) {
+        report.setInvalid(report.getInvalid() + 1);
+        invalidRows.increment();
+        if (report.getErrors().size() < MAX_REPORTED_ERRORS) {
+            report.getErrors().add(new ElectorImportError(line, identifiantSecurise, message));
+        }
+    }
+
+    private void countDuplicates(ElectorImportReport report, long duplicates) {
+        report.setDuplicates(report.getDuplicates() + duplicates);
+        duplicateRows.increment(duplicates);
+    }
+
+    private static long rowsPerSecond(long rows, long start) {
+        long elapsedNanos = Math.max(1L, System.nanoTime() - start);
+        return rows * 1_000_000_000L / elapsedNanos;
+    }
+
+    private static Counter rowCounter(MeterRegistry registry, String outcome) {
+        return Counter.builder("electors.import.rows")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+}
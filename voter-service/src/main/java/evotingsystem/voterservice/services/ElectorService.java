@@ -5,6 +5,7 @@ import evotingsystem.voterservice.dtos.ElectorRequest;
 import evotingsystem.voterservice.dtos.ElectorResponse;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Interface du service de gestion des électeurs.
@@ -35,6 +36,15 @@ public interface ElectorService {
      */
     ElectorDTO getElectorById(Long id);
 
+    /**
+     * Récupère plusieurs électeurs par leurs identifiants en une seule requête.
+     * Les identifiants inconnus sont ignorés.
+     * 
+     * @param ids Les identifiants uniques des électeurs
+     * @return La liste des ElectorDTO trouvés
+     */
+    List<ElectorDTO> getElectorsByIds(List<Long> ids);
+
     /**
      * Récupère un électeur par son identifiant sécurisé.
      * 
@@ -51,6 +61,23 @@ public interface ElectorService {
      */
     List<ElectorDTO> listElectors();
 
+    /**
+     * Récupère une page d'électeurs par clé (pagination sans OFFSET).
+     * 
+     * @param afterId L'ID du dernier électeur de la page précédente (0 pour la première page)
+     * @param limit Le nombre maximal d'électeurs à retourner
+     * @return La liste des ElectorDTO de la page, triés par ID
+     */
+    List<ElectorDTO> listElectorsPage(Long afterId, int limit);
+
+    /**
+     * Transmet tous les électeurs un par un au consommateur, sans les charger
+     * en mémoire d'un seul bloc.
+     * 
+     * @param consumer Le consommateur appelé pour chaque électeur, dans l'ordre des IDs
+     */
+    void streamElectors(Consumer<ElectorDTO> consumer);
+
     /**
      * Met à jour le statut de vote d'un électeur.
      * Cette méthode est généralement appelée lorsqu'un électeur a voté.
@@ -60,5 +87,12 @@ public interface ElectorService {
      * @throws ElectorNotFoundException Si aucun électeur n'est trouvé avec cet ID
      */
     void updateVoteStatus(Long id, Boolean aVote);
-}
 
+    /**
+     * Marque comme ayant voté les électeurs concernés par des événements VoteCast.
+     * L'opération est idempotente : un événement reçu plusieurs fois est sans effet.
+     * 
+     * @param electorIds Les identifiants des électeurs ayant voté
+     */
+    void markElectorsAsVoted(List<Long> electorIds);
+}
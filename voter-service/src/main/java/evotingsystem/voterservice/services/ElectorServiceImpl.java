@@ -9,11 +9,15 @@ import evotingsystem.voterservice.exceptions.ElectorNotFoundException;
 import evotingsystem.voterservice.repositories.ElectorRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Implémentation du service de gestion des électeurs.
@@ -30,12 +34,19 @@ import java.util.stream.Collectors;
 @Transactional
 public class ElectorServiceImpl implements ElectorService {
 
+    /**
+     * Taille maximale d'une page d'électeurs.
+     */
+    private static final int MAX_PAGE_SIZE = 10000;
+
     private final ElectorRepository electorRepository;
+    private final IdentifiantSecuriseFilter identifiantFilter;
 
     /**
      * Crée un nouvel électeur dans le système.
      * 
-     * Vérifie d'abord si un électeur avec le même identifiant sécurisé existe déjà.
+     * Vérifie d'abord si un électeur avec le même identifiant sécurisé existe déjà
+     * (requête évitée quand le filtre de Bloom exclut l'identifiant).
      * Si c'est le cas, une exception est levée. Sinon, l'électeur est créé et sauvegardé.
      * 
      * @param request Les données de l'électeur à créer
@@ -47,14 +58,14 @@ public class ElectorServiceImpl implements ElectorService {
         log.info("Tentative de création d'un nouvel électeur avec l'identifiant sécurisé: {}", 
                 request.getIdentifiantSecurise());
 
-        // Vérifier si un électeur avec le même identifiant sécurisé existe déjà
-        if (electorRepository.existsByIdentifiantSecurise(request.getIdentifiantSecurise())) {
-            log.warn("Tentative de création d'un électeur avec un identifiant sécurisé déjà existant: {}", 
-                    request.getIdentifiantSecurise());
-            throw new ElectorAlreadyExistsException(
-                    "Un électeur avec l'identifiant sécurisé '" + 
-                    request.getIdentifiantSecurise() + "' existe déjà."
-            );
+        // Vérifier si un électeur avec le même identifiant sécurisé existe déjà : requête
+        // uniquement si le filtre de Bloom ne l'exclut pas
+        if (identifiantFilter.mightContain(request.getIdentifiantSecurise())) {
+            boolean exists = electorRepository.existsByIdentifiantSecurise(request.getIdentifiantSecurise());
+            identifiantFilter.recordPositive(exists);
+            if (exists) {
+                throw alreadyExists(request.getIdentifiantSecurise());
+            }
         }
 
         // Créer un nouvel électeur
@@ -65,8 +76,15 @@ public class ElectorServiceImpl implements ElectorService {
                 request.getIdentifiantSecurise()
         );
 
-        // Sauvegarder l'électeur dans la base de données
-        Elector savedElector = electorRepository.save(elector);
+        // Sauvegarder l'électeur dans la base de données. La contrainte d'unicité
+        // rejette un identifiant enregistré entre-temps (autre requête, autre instance)
+        Elector savedElector;
+        try {
+            savedElector = electorRepository.saveAndFlush(elector);
+        } catch (DataIntegrityViolationException e) {
+            throw alreadyExists(request.getIdentifiantSecurise());
+        }
+        identifiantFilter.add(savedElector.getIdentifiantSecurise());
         log.info("Électeur créé avec succès. ID: {}, Nom: {} {}", 
                 savedElector.getIdElector(), savedElector.getPrenom(), savedElector.getNom());
 
@@ -105,6 +123,27 @@ public class ElectorServiceImpl implements ElectorService {
         return convertToDTO(elector);
     }
 
+    /**
+     * Récupère plusieurs électeurs par leurs identifiants : ceux du cache de second
+     * niveau en sont lus, les autres en une seule requête. Les identifiants inconnus sont ignorés.
+     * 
+     * @param ids Les identifiants uniques des électeurs
+     * @return La liste des ElectorDTO trouvés
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<ElectorDTO> getElectorsByIds(List<Long> ids) {
+        log.info("Récupération groupée de {} électeurs", ids.size());
+
+        List<ElectorDTO> electors = electorRepository.loadAllById(ids)
+                .stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+
+        log.info("Nombre d'électeurs trouvés: {}", electors.size());
+        return electors;
+    }
+
     /**
      * Récupère un électeur par son identifiant sécurisé.
      * 
@@ -117,7 +156,7 @@ public class ElectorServiceImpl implements ElectorService {
     public ElectorDTO getElectorByIdentifiantSecurise(String identifiantSecurise) {
         log.info("Récupération de l'électeur avec l'identifiant sécurisé: {}", identifiantSecurise);
 
-        Elector elector = electorRepository.findByIdentifiantSecurise(identifiantSecurise)
+        Elector elector = electorRepository.findByNaturalId(identifiantSecurise)
                 .orElseThrow(() -> {
                     log.warn("Électeur non trouvé avec l'identifiant sécurisé: {}", identifiantSecurise);
                     return new ElectorNotFoundException(
@@ -139,15 +178,44 @@ public class ElectorServiceImpl implements ElectorService {
     public List<ElectorDTO> listElectors() {
         log.info("Récupération de la liste de tous les électeurs");
 
-        List<ElectorDTO> electors = electorRepository.findAll()
-                .stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        List<ElectorDTO> electors = electorRepository.findAllAsDTO();
 
         log.info("Nombre d'électeurs trouvés: {}", electors.size());
         return electors;
     }
 
+    /**
+     * Récupère une page d'électeurs par clé (pagination sans OFFSET).
+     * 
+     * @param afterId L'ID du dernier électeur de la page précédente (0 pour la première page)
+     * @param limit Le nombre maximal d'électeurs à retourner (borné à 10000)
+     * @return La liste des ElectorDTO de la page, triés par ID
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<ElectorDTO> listElectorsPage(Long afterId, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        log.info("Récupération d'une page de {} électeurs après l'ID: {}", pageSize, afterId);
+
+        return electorRepository.findPageAfter(afterId, PageRequest.ofSize(pageSize));
+    }
+
+    /**
+     * Transmet tous les électeurs un par un au consommateur, sans les charger
+     * en mémoire d'un seul bloc. Les électeurs sont projetés directement en DTO.
+     * 
+     * @param consumer Le consommateur appelé pour chaque électeur, dans l'ordre des IDs
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void streamElectors(Consumer<ElectorDTO> consumer) {
+        log.info("Export en flux de tous les électeurs");
+
+        try (Stream<ElectorDTO> electors = electorRepository.streamAll()) {
+            electors.forEach(consumer);
+        }
+    }
+
     /**
      * Met à jour le statut de vote d'un électeur.
      * Cette méthode est généralement appelée lorsqu'un électeur a voté.
@@ -172,6 +240,34 @@ public class ElectorServiceImpl implements ElectorService {
         log.info("Statut de vote mis à jour avec succès pour l'électeur ID: {}", id);
     }
 
+    /**
+     * Marque comme ayant voté les électeurs concernés par des événements VoteCast.
+     * L'opération est idempotente : un événement reçu plusieurs fois est sans effet.
+     * 
+     * @param electorIds Les identifiants des électeurs ayant voté
+     */
+    @Override
+    public void markElectorsAsVoted(List<Long> electorIds) {
+        // Mise à jour par entité plutôt qu'un UPDATE en masse : Hibernate viderait
+        // alors tout le cache des électeurs à chaque lot d'événements
+        int updated = 0;
+        for (Elector elector : electorRepository.loadAllById(electorIds)) {
+            if (!Boolean.TRUE.equals(elector.getAVote())) {
+                elector.setAVote(true);
+                updated++;
+            }
+        }
+        log.info("Statut de vote mis à jour pour {} électeur(s) sur {} événement(s)", updated, electorIds.size());
+    }
+
+    private ElectorAlreadyExistsException alreadyExists(String identifiantSecurise) {
+        log.warn("Tentative de création d'un électeur avec un identifiant sécurisé déjà existant: {}",
+                identifiantSecurise);
+        return new ElectorAlreadyExistsException(
+                "Un électeur avec l'identifiant sécurisé '" + identifiantSecurise + "' existe déjà."
+        );
+    }
+
     /**
      * Convertit une entité Elector en DTO ElectorDTO.
      * 
@@ -0,0 +1,104 @@
+package evotingsystem.voterservice.services;
+
+import evotingsystem.voterservice.repositories.ElectorRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.stream.Stream;
+
+/**
+ * Identifiants sécurisés déjà enregistrés, dans un filtre de Bloom : la
+ * plupart des créations d'électeurs (identifiant nouveau) évitent la requête
+ * d'existence. Seuls les identifiants "peut-être présents" sont vérifiés en base ;
+ * la contrainte d'unicité reste l'arbitre, notamment pour les électeurs créés
+ * par une autre instance.
+ *
+ * Construit en parcourant la colonne identifiant_securise une fois l'application
+ * démarrée ; jusque-là, tout identifiant est considéré comme peut-être présent.
+ *
+ * Métriques :
+ * - electors.identifiant.filter.checks (compteur, tag result) : negative,
+ *   false_positive (présent selon le filtre, absent en base), true_positive
+ * - electors.identifiant.filter.expected.fpp (jauge) : taux de faux positifs attendu
+ */
+@Slf4j
+@Component
+public class IdentifiantSecuriseFilter {
+
+    private final ElectorRepository electorRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final BloomFilter filter;
+    private final Counter negatives;
+    private final Counter falsePositives;
+    private final Counter truePositives;
+
+    private volatile boolean loaded;
+
+    public IdentifiantSecuriseFilter(ElectorRepository electorRepository,
+                                     TransactionTemplate transactionTemplate,
+                                     MeterRegistry registry,
+                                     @Value("${elector.identifiant-filter.expected-electors:10000000}") long expectedElectors,
+                                     @Value("${elector.identifiant-filter.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.electorRepository = electorRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.filter = new BloomFilter(expectedElectors, falsePositiveRate);
+        this.negatives = checkCounter(registry, "negative");
+        this.falsePositives = checkCounter(registry, "false_positive");
+        this.truePositives = checkCounter(registry, "true_positive");
+        Gauge.builder("electors.identifiant.filter.expected.fpp", filter, BloomFilter::expectedFalsePositiveRate)
+                .description("Taux de faux positifs attendu du filtre des identifiants sécurisés")
+                .register(registry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long start = System.nanoTime();
+        long[] count = {0};
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<String> identifiants = electorRepository.streamIdentifiantsSecurises()) {
+                identifiants.forEach(identifiant -> {
+                    filter.add(identifiant);
+                    count[0]++;
+                });
+            }
+        });
+        loaded = true;
+        log.info("Filtre des identifiants sécurisés : {} identifiants, {} Ko, chargé en {} ms",
+                count[0], filter.sizeInBytes() / 1024, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * @return false si l'identifiant n'a certainement jamais été enregistré
+     */
+    public boolean mightContain(String identifiantSecurise) {
+        if (loaded && !filter.mightContain(identifiantSecurise)) {
+            negatives.increment();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Résultat de la vérification en base d'un identifiant peut-être présent.
+     */
+    public void recordPositive(boolean exists) {
+        (exists ? truePositives : falsePositives).increment();
+    }
+
+    public void add(String identifiantSecurise) {
+        filter.add(identifiantSecurise);
+    }
+
+    private static Counter checkCounter(MeterRegistry registry, String result) {
+        return Counter.builder("electors.identifiant.filter.checks")
+                .tag("result", result)
+                .register(registry);
+    }
+}
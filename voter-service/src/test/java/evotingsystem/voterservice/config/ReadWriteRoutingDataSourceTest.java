@@ -0,0 +1,133 @@
+package evotingsystem.voterservice.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import evotingsystem.voterservice.dtos.ElectorDTO;
+import evotingsystem.voterservice.dtos.ElectorRequest;
+import evotingsystem.voterservice.entities.Elector;
+import evotingsystem.voterservice.services.ElectorService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests du routage lecture/écriture entre deux bases H2 : la base principale
+ * et un "réplica" dont le test écrit lui-même le battement de réplication.
+ *
+ * @author Équipe E-Voting System
+ * @version 1.0.0
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:voter_routing_primary;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "elector.datasource.replica-urls=" + ReadWriteRoutingDataSourceTest.REPLICA_URL,
+        "elector.datasource.replica-max-lag-ms=2000",
+        "elector.datasource.heartbeat-interval-ms=3600000"
+})
+class ReadWriteRoutingDataSourceTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:voter_routing_replica;MODE=MySQL;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private ElectorService electorService;
+
+    @Autowired
+    private ReplicaLagMonitor replicaLagMonitor;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Autowired
+    private HikariDataSource primaryDataSource;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private JdbcTemplate replica;
+
+    @BeforeEach
+    void setUp() {
+        replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+        replica.execute("CREATE TABLE IF NOT EXISTS replication_heartbeat (id INT PRIMARY KEY, beat BIGINT NOT NULL)");
+        replica.execute("CREATE TABLE IF NOT EXISTS electors (id_elector BIGINT AUTO_INCREMENT PRIMARY KEY, " +
+                "nom VARCHAR(255) NOT NULL, prenom VARCHAR(255) NOT NULL, date_naissance DATE NOT NULL, " +
+                "identifiant_securise VARCHAR(255) NOT NULL UNIQUE, a_vote BOOLEAN NOT NULL)");
+        replica.update("MERGE INTO electors (id_elector, nom, prenom, date_naissance, identifiant_securise, a_vote) " +
+                "KEY (id_elector) VALUES (1, 'Replica', 'Rita', DATE '1970-01-01', 'REPLICA-001', false)");
+    }
+
+    @Test
+    void readOnlyTransactionsGoToAnUpToDateReplicaAndWritesToThePrimary() {
+        replicateHeartbeat(0);
+
+        assertEquals(List.of("REPLICA-001"), identifiants(electorService.listElectors()));
+
+        electorService.createElector(new ElectorRequest("Martin", "Claire", new Date(0L), "ROUTING-001"));
+        assertEquals(1, count(new JdbcTemplate(primaryDataSource), "ROUTING-001"));
+        assertEquals(0, count(replica, "ROUTING-001"));
+    }
+
+    @Test
+    void laggingOrUnreachableReplicaFallsBackToThePrimary() {
+        double primaryReads = reads("primary");
+
+        replicateHeartbeat(60_000);
+        assertTrue(replicaLag() >= 60_000);
+        assertTrue(identifiants(electorService.listElectors()).contains("ID001234"));
+
+        replica.execute("DROP TABLE replication_heartbeat");
+        replicaLagMonitor.check();
+        assertTrue(Double.isNaN(replicaLag()));
+        assertFalse(identifiants(electorService.listElectors()).contains("REPLICA-001"));
+
+        assertEquals(primaryReads + 2, reads("primary"));
+    }
+
+    @Test
+    void electorsReadOnAReplicaAreNotPutInTheSecondLevelCache() {
+        Cache cache = entityManagerFactory.getCache();
+        cache.evict(Elector.class);
+
+        replicateHeartbeat(0);
+        assertEquals("REPLICA-001", electorService.getElectorById(1L).getIdentifiantSecurise());
+        assertFalse(cache.contains(Elector.class, 1L));
+
+        // Lecture sur la base principale : l'électeur est mis en cache
+        replicateHeartbeat(60_000);
+        assertNotEquals("REPLICA-001", electorService.getElectorById(1L).getIdentifiantSecurise());
+        assertTrue(cache.contains(Elector.class, 1L));
+    }
+
+    // Simule un réplica en retard de lagMs sur la base principale
+    private void replicateHeartbeat(long lagMs) {
+        replica.update("MERGE INTO replication_heartbeat (id, beat) KEY (id) VALUES (1, ?)",
+                System.currentTimeMillis() - lagMs);
+        replicaLagMonitor.check();
+    }
+
+    private static List<String> identifiants(List<ElectorDTO> electors) {
+        return electors.stream().map(ElectorDTO::getIdentifiantSecurise).toList();
+    }
+
+    private static int count(JdbcTemplate database, String identifiantSecurise) {
+        return database.queryForObject("SELECT COUNT(*) FROM electors WHERE identifiant_securise = ?",
+                Integer.class, identifiantSecurise);
+    }
+
+    private double replicaLag() {
+        return registry.get("electors.datasource.replica.lag").tag("replica", "replica-0").gauge().value();
+    }
+
+    private double reads(String target) {
+        return registry.get("electors.datasource.reads").tag("target", target).counter().count();
+    }
+}
@@ -0,0 +1,32 @@
+package evotingsystem.voterservice.services;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BloomFilterTest {
+
+    @Test
+    void noFalseNegativeAndFalsePositiveRateNearTarget() {
+        BloomFilter filter = new BloomFilter(200_000, 0.01);
+        for (int i = 0; i < 200_000; i++) {
+            filter.add("ID" + i);
+        }
+
+        for (int i = 0; i < 200_000; i++) {
+            assertTrue(filter.mightContain("ID" + i), "ID" + i);
+        }
+
+        int falsePositives = 0;
+        for (int i = 200_000; i < 400_000; i++) {
+            if (filter.mightContain("ID" + i)) {
+                falsePositives++;
+            }
+        }
+        double observed = falsePositives / 200_000.0;
+        assertTrue(observed < 0.015, "taux observé " + observed);
+        assertEquals(0.01, filter.expectedFalsePositiveRate(), 0.002);
+        // 200 000 éléments à 1 % : 9,6 bits par élément
+        assertTrue(filter.sizeInBytes() <= 240_000, filter.sizeInBytes() + " octets");
+    }
+}
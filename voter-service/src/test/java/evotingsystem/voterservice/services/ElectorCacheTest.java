@@ -0,0 +1,76 @@
+package evotingsystem.voterservice.services;
+
+import evotingsystem.voterservice.dtos.ElectorRequest;
+import evotingsystem.voterservice.dtos.ElectorResponse;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests du cache de second niveau des électeurs : lectures par ID et par
+ * identifiant sécurisé servies sans requête SQL, et cache à jour après
+ * chaque écriture.
+ *
+ * @author Équipe E-Voting System
+ * @version 1.0.0
+ */
+@SpringBootTest
+class ElectorCacheTest {
+
+    @Autowired
+    private ElectorService electorService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void electorIsReadFromCacheByIdAndByIdentifiantSecurise() {
+        ElectorResponse created = createElector("CACHE-001");
+        // Insertion IDENTITY : l'entité n'entre dans le cache qu'à sa première lecture
+        electorService.getElectorById(created.getIdElector());
+        statistics.clear();
+
+        assertEquals("CACHE-001", electorService.getElectorById(created.getIdElector()).getIdentifiantSecurise());
+        assertEquals(created.getIdElector(),
+                electorService.getElectorByIdentifiantSecurise("CACHE-001").getIdElector());
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(2, statistics.getSecondLevelCacheHitCount());
+        assertEquals(1, statistics.getNaturalIdCacheHitCount());
+    }
+
+    @Test
+    void voteStatusUpdatesAreVisibleThroughTheCache() {
+        Long first = createElector("CACHE-002").getIdElector();
+        Long second = createElector("CACHE-003").getIdElector();
+
+        electorService.updateVoteStatus(first, true);
+        electorService.markElectorsAsVoted(List.of(second));
+        statistics.clear();
+
+        assertTrue(electorService.getElectorById(first).getAVote());
+        assertTrue(electorService.getElectorByIdentifiantSecurise("CACHE-003").getAVote());
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    private ElectorResponse createElector(String identifiantSecurise) {
+        return electorService.createElector(
+                new ElectorRequest("Martin", "Claire", new Date(0L), identifiantSecurise));
+    }
+}
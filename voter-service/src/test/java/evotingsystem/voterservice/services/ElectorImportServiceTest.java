@@ -0,0 +1,67 @@
+package evotingsystem.voterservice.services;
+
+import evotingsystem.voterservice.dtos.ElectorImportReport;
+import evotingsystem.voterservice.repositories.ElectorRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests de l'import CSV de listes électorales.
+ *
+ * @author Équipe E-Voting System
+ * @version 1.0.0
+ */
+@SpringBootTest(properties = "elector.import.batch-size=3")
+class ElectorImportServiceTest {
+
+    @Autowired
+    private ElectorImportService electorImportService;
+
+    @Autowired
+    private ElectorRepository electorRepository;
+
+    @Test
+    void validRowsAreImportedAndInvalidOrDuplicateRowsAreReported() throws Exception {
+        String csv = """
+                identifiantSecurise;nom;prenom;dateNaissance
+                IMP-001;Lefèvre;Anne;1980-02-29
+                IMP-002;"Dupont; dit ""Jeannot\"\"";Jean;1975-11-03
+                IMP-003;;Luc;1990-01-01
+                IMP-004;Roux;Marc;01/01/1990
+                IMP-001;Lefèvre;Anne;1980-02-29
+                ID001234;Dupont;Jean;1990-05-15
+                IMP-005;"Nom sur
+                deux lignes";Eve;2001-07-14
+                IMP-006;Blanc;Lea;2100-01-01
+                IMP-007;Noir;Paul;1969-07-20
+                """;
+
+        ElectorImportReport report = electorImportService.importCsv(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), ';');
+
+        assertEquals(9, report.getRows());
+        assertEquals(4, report.getImported());
+        assertEquals(3, report.getInvalid());
+        // IMP-001 plus haut dans le fichier, ID001234 dans les données de test
+        assertEquals(2, report.getDuplicates());
+        assertEquals(List.of(4L, 5L, 10L), report.getErrors().stream().map(e -> e.getLine()).toList());
+
+        assertEquals("Dupont; dit \"Jeannot\"", electorRepository.findByNaturalId("IMP-002").orElseThrow().getNom());
+        assertEquals("Nom sur\ndeux lignes", electorRepository.findByNaturalId("IMP-005").orElseThrow().getNom());
+        assertTrue(electorRepository.findByNaturalId("IMP-007").isPresent());
+        assertFalse(electorRepository.findByNaturalId("IMP-003").isPresent());
+    }
+
+    @Test
+    void missingColumnIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> electorImportService.importCsv(
+                new ByteArrayInputStream("nom,prenom,identifiantSecurise\n".getBytes(StandardCharsets.UTF_8)), ','));
+    }
+}
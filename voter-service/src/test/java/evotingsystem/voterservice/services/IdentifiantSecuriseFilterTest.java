@@ -0,0 +1,65 @@
+package evotingsystem.voterservice.services;
+
+import evotingsystem.voterservice.dtos.ElectorRequest;
+import evotingsystem.voterservice.entities.Elector;
+import evotingsystem.voterservice.exceptions.ElectorAlreadyExistsException;
+import evotingsystem.voterservice.repositories.ElectorRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests du filtre de Bloom des identifiants sécurisés à la création d'électeurs.
+ *
+ * @author Équipe E-Voting System
+ * @version 1.0.0
+ */
+@SpringBootTest
+class IdentifiantSecuriseFilterTest {
+
+    @Autowired
+    private ElectorService electorService;
+
+    @Autowired
+    private ElectorRepository electorRepository;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Test
+    void newIdentifiantSkipsTheExistenceQueryAndDuplicatesAreStillRejected() {
+        double negatives = checks("negative");
+        electorService.createElector(request("BLOOM-001"));
+        assertEquals(negatives + 1, checks("negative"));
+
+        // Identifiant ajouté au filtre : la seconde création est vérifiée en base
+        double truePositives = checks("true_positive");
+        assertThrows(ElectorAlreadyExistsException.class, () -> electorService.createElector(request("BLOOM-001")));
+        assertEquals(truePositives + 1, checks("true_positive"));
+
+        // Données de test chargées au démarrage
+        assertThrows(ElectorAlreadyExistsException.class, () -> electorService.createElector(request("ID001234")));
+    }
+
+    @Test
+    void identifiantMissingFromTheFilterIsRejectedByTheUniqueConstraint() {
+        // Électeur enregistré sans passer par le service, comme par une autre instance
+        electorRepository.save(new Elector("Durand", "Paul", new Date(0L), "BLOOM-002"));
+
+        assertThrows(ElectorAlreadyExistsException.class, () -> electorService.createElector(request("BLOOM-002")));
+        assertEquals(1, electorRepository.findByNaturalId("BLOOM-002").stream().count());
+    }
+
+    private double checks(String result) {
+        return registry.get("electors.identifiant.filter.checks").tag("result", result).counter().count();
+    }
+
+    private ElectorRequest request(String identifiantSecurise) {
+        return new ElectorRequest("Martin", "Claire", new Date(0L), identifiantSecurise);
+    }
+}